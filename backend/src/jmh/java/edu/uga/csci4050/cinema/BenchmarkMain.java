@@ -0,0 +1,57 @@
+package edu.uga.csci4050.cinema;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs every benchmark under src/jmh/java and writes the results as JSON to
+ * target/jmh-result.json, so two releases can be compared with any JMH
+ * result diff tool. Standard JMH arguments are passed through, e.g. a
+ * benchmark regex or {@code -rff other.json}.
+ *
+ * mvn -Pjmh test-compile exec:java [-Dexec.args="SeatConflict"]
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        forkWithProjectClasspath();
+        CommandLineOptions cli = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(cli);
+        if (cli.getIncludes().isEmpty()) {
+            options.include(BenchmarkMain.class.getPackageName() + "\\..*Benchmark");
+        }
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cli.getResult().hasValue()) {
+            options.result("target/jmh-result.json");
+        }
+        new Runner(options.build()).run();
+    }
+
+    // Forked benchmark JVMs take java.class.path, which under exec:java is
+    // Maven's own; point it at the project's test classpath instead
+    private static void forkWithProjectClasspath() throws URISyntaxException {
+        if (!(Thread.currentThread().getContextClassLoader() instanceof URLClassLoader loader)) {
+            return;
+        }
+        List<String> entries = new ArrayList<>();
+        for (URL url : loader.getURLs()) {
+            entries.add(Path.of(url.toURI()).toString());
+        }
+        if (!entries.isEmpty()) {
+            System.setProperty("java.class.path", String.join(File.pathSeparator, entries));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package edu.uga.csci4050.cinema.config;
+
+import edu.uga.csci4050.cinema.security.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JwtFilter for a token the browser replays on every
+ * call. cacheSize 0 is the uncached baseline (full HMAC check and claims
+ * parsing every time).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    @Param({ "0", "10000" })
+    long cacheSize;
+
+    private SecurityConfig.JwtFilter filter;
+    private String header;
+
+    @Setup
+    public void setup() {
+        JwtService jwt = new JwtService("benchmark-secret-benchmark-secret-0123456789", 3600, 604800, cacheSize);
+        filter = new SecurityConfig.JwtFilter(jwt);
+        header = "Bearer " + jwt.issue("user@example.com", false, Map.of("role", "USER"));
+    }
+
+    @Benchmark
+    public Object filterReplayedToken() throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/movies");
+        req.addHeader("Authorization", header);
+        filter.doFilterInternal(req, new MockHttpServletResponse(), new MockFilterChain());
+        Object auth = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return auth;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(JwtFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package edu.uga.csci4050.cinema.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.uga.csci4050.cinema.type.SeatMap;
+import edu.uga.csci4050.cinema.type.Showtime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a Showroom response with its showtimes filled in, using an
+ * ObjectMapper configured the way Spring Boot configures the MVC one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShowroomSerializationBenchmark {
+
+    @Param({ "10", "1000" })
+    int showtimes;
+
+    private ObjectMapper mapper;
+    private Showroom showroom;
+
+    @Setup
+    public void setup() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        showroom = new Showroom();
+        showroom.setId("room-1");
+        showroom.setRows(20);
+        showroom.setSeatsPerRow(30);
+        SeatMap seatMap = showroom.seatMap();
+        Random random = new Random(42);
+        Instant start = Instant.parse("2025-11-14T12:00:00Z");
+        List<Showtime> list = new ArrayList<>(showtimes);
+        for (int i = 0; i < showtimes; i++) {
+            List<String> booked = new ArrayList<>();
+            for (int s = 0; s < seatMap.capacity(); s++) {
+                if (random.nextInt(2) == 0) {
+                    booked.add(seatMap.labelOf(s));
+                }
+            }
+            list.add(new Showtime("st-" + i, "movie-" + (i % 40), start.plus(Duration.ofHours(3L * i)),
+                    booked.toArray(String[]::new), showroom.getId(), seatMap.mask(booked)));
+        }
+        showroom.setShowtimes(list);
+    }
+
+    @Benchmark
+    public byte[] writeShowroom() throws Exception {
+        return mapper.writeValueAsBytes(showroom);
+    }
+}
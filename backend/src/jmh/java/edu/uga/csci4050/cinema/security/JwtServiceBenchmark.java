@@ -0,0 +1,51 @@
+package edu.uga.csci4050.cinema.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. cacheSize 0 measures the full signature
+ * check; 10000 measures a token served from the verified cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    @Param({ "0", "10000" })
+    long cacheSize;
+
+    private JwtService jwt;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwt = new JwtService("benchmark-secret-benchmark-secret-0123456789", 3600, 604800, cacheSize);
+        token = jwt.issue("user@example.com", false, Map.of("role", "USER"));
+    }
+
+    @Benchmark
+    public String issue() {
+        return jwt.issue("user@example.com", false, Map.of("role", "USER"));
+    }
+
+    @Benchmark
+    public Object parse() {
+        return jwt.parse(token);
+    }
+}
@@ -0,0 +1,85 @@
+package edu.uga.csci4050.cinema.service;
+
+import edu.uga.csci4050.cinema.model.MovieItem;
+import edu.uga.csci4050.cinema.type.RatingCode;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Movie search as served by CustomMovieRepositoryImpl.searchMovies, which
+ * answers from MovieSearchIndex instead of building a regex query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovieSearchBenchmark {
+
+    private static final String[] WORDS = { "Night", "Return", "Dark", "Star", "Summer", "Lost", "City", "Ghost",
+            "River", "Last", "Empire", "Dream", "Silent", "Iron", "Road", "Winter" };
+    private static final String[] GENRES = { "Action", "Comedy", "Drama", "Horror", "Romance", "Sci-Fi",
+            "Thriller", "Animation" };
+
+    @Param({ "200", "20000" })
+    int movies;
+
+    private MovieSearchIndex index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<MovieItem> all = new ArrayList<>(movies);
+        for (int i = 0; i < movies; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + (i + 1);
+            List<String> genres = List.of(GENRES[random.nextInt(GENRES.length)],
+                    GENRES[random.nextInt(GENRES.length)]);
+            MovieItem movie = new MovieItem(title, genres, List.of(), "Director", "Producer", "Synopsis",
+                    List.of(), null, null, RatingCode.PG);
+            movie.setId(Integer.toHexString(i));
+            all.add(movie);
+        }
+        MongoTemplate mongoTemplate = Mockito.mock(MongoTemplate.class);
+        Mockito.when(mongoTemplate.findAll(MovieItem.class)).thenReturn(all);
+        index = new MovieSearchIndex(mongoTemplate);
+        index.rebuild();
+    }
+
+    @Benchmark
+    public List<MovieItem> title() {
+        return index.search("ght riv", null);
+    }
+
+    @Benchmark
+    public List<MovieItem> genre() {
+        return index.search(null, List.of("Horror"));
+    }
+
+    @Benchmark
+    public List<MovieItem> titleAndGenre() {
+        return index.search("summer", List.of("Comedy", "Romance"));
+    }
+
+    @Benchmark
+    public List<MovieItem> noMatch() {
+        return index.search("zzyzx", null);
+    }
+}
@@ -0,0 +1,83 @@
+package edu.uga.csci4050.cinema.type;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The seat conflict check behind a booking: are any of the requested seats
+ * already sold? hashSet is the label comparison made before showtimes carried
+ * a sold-seat bitmap; bitmap is the SeatMap check, with and without building
+ * the request mask.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatConflictBenchmark {
+
+    // Percentage of the showroom already sold
+    @Param({ "10", "90" })
+    int soldPercent;
+
+    private SeatMap seatMap;
+    private String[] bookedSeats;
+    private long[] soldSeats;
+    private List<String> requested;
+    private long[] requestedMask;
+
+    @Setup
+    public void setup() {
+        seatMap = new SeatMap(20, 30);
+        Random random = new Random(42);
+        List<String> sold = new ArrayList<>();
+        List<String> free = new ArrayList<>();
+        for (int i = 0; i < seatMap.capacity(); i++) {
+            (random.nextInt(100) < soldPercent ? sold : free).add(seatMap.labelOf(i));
+        }
+        bookedSeats = sold.toArray(String[]::new);
+        soldSeats = seatMap.mask(sold);
+        // A party of four that does not conflict, so every seat is checked
+        requested = free.subList(0, Math.min(4, free.size()));
+        requestedMask = seatMap.mask(requested);
+    }
+
+    @Benchmark
+    public boolean hashSet() {
+        Set<String> taken = new HashSet<>(Arrays.asList(bookedSeats));
+        for (String seat : requested) {
+            if (taken.contains(seat)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean bitmap() {
+        return SeatMap.intersects(soldSeats, seatMap.mask(requested));
+    }
+
+    @Benchmark
+    public boolean bitmapPrebuiltMask() {
+        return SeatMap.intersects(soldSeats, requestedMask);
+    }
+}
@@ -0,0 +1,55 @@
+package edu.uga.csci4050.cinema.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date parsing and formatting. parseDateTimeIso goes through the fallback
+ * after the primary pattern fails, so it includes the cost of that
+ * exception.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeUtilBenchmark {
+
+    private final Instant instant = Instant.parse("2025-11-14T23:30:00Z");
+
+    @Benchmark
+    public Instant parseDate() {
+        return DateTimeUtil.parseDate("2025-11-14");
+    }
+
+    @Benchmark
+    public Instant parseDateTime() {
+        return DateTimeUtil.parseDateTime("2025-11-14 18:30");
+    }
+
+    @Benchmark
+    public Instant parseDateTimeIso() {
+        return DateTimeUtil.parseDateTime("2025-11-14T18:30:00");
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return DateTimeUtil.formatDate(instant);
+    }
+
+    @Benchmark
+    public String formatDateTime() {
+        return DateTimeUtil.formatDateTime(instant);
+    }
+}
@@ -0,0 +1,51 @@
+package edu.uga.csci4050.cinema.config;
+
+import edu.uga.csci4050.cinema.model.OutboxMail;
+import edu.uga.csci4050.cinema.model.IdempotencyRecord;
+import edu.uga.csci4050.cinema.model.SeatHold;
+import edu.uga.csci4050.cinema.model.TicketRecord;
+import edu.uga.csci4050.cinema.type.Showtime;
+import edu.uga.csci4050.cinema.util.DatabaseMigrationUtil;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared on the listed documents at startup.
+ * Auto index creation is off by default in Spring Boot, but some collections
+ * (TTL expiry, hot query paths) depend on their indexes existing.
+ * Duplicate showtimes left by older data are merged first, since the
+ * room_movie_start index is unique.
+ */
+@Configuration
+@Profile("!test")
+public class MongoIndexConfig {
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(SeatHold.class, Showtime.class, OutboxMail.class,
+            TicketRecord.class, IdempotencyRecord.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final DatabaseMigrationUtil migrations;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate, DatabaseMigrationUtil migrations) {
+        this.mongoTemplate = mongoTemplate;
+        this.migrations = migrations;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        migrations.dedupeShowtimes();
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> type : INDEXED_DOCUMENTS) {
+            IndexOperations ops = mongoTemplate.indexOps(type);
+            resolver.resolveIndexFor(type).forEach(ops::createIndex);
+        }
+    }
+}
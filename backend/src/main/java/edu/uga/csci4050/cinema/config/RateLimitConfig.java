@@ -0,0 +1,27 @@
+package edu.uga.csci4050.cinema.config;
+
+import edu.uga.csci4050.cinema.security.InMemoryRateLimitStore;
+import edu.uga.csci4050.cinema.security.MongoRateLimitStore;
+import edu.uga.csci4050.cinema.security.RateLimitStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Picks the rate limit counter store: per node in memory (default), or shared
+ * through Mongo when several nodes sit behind one load balancer.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitStore rateLimitStore(RateLimitProperties properties, ObjectProvider<MongoTemplate> mongoTemplate) {
+        if (properties.store() == RateLimitProperties.Store.MONGO) {
+            return new MongoRateLimitStore(mongoTemplate.getObject());
+        }
+        return new InMemoryRateLimitStore(properties.maxKeys());
+    }
+}
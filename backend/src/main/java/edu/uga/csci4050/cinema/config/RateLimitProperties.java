@@ -0,0 +1,37 @@
+package edu.uga.csci4050.cinema.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Rate limits for the public auth endpoints, bound from app.ratelimit.*.
+ *
+ * Each rule names a path and how many requests one IP and one email may make
+ * to it per sliding window. A limit of 0 turns that key off. maxKeys bounds
+ * the in-memory store.
+ */
+@ConfigurationProperties("app.ratelimit")
+public record RateLimitProperties(
+        boolean enabled,
+        Store store,
+        long maxKeys,
+        Map<String, Rule> rules) {
+
+    public enum Store {
+        MEMORY, MONGO
+    }
+
+    public record Rule(String path, int perIp, int perEmail, Duration window) {
+        public Rule {
+            window = window == null ? Duration.ofMinutes(1) : window;
+        }
+    }
+
+    public RateLimitProperties {
+        store = store == null ? Store.MEMORY : store;
+        maxKeys = maxKeys > 0 ? maxKeys : 100_000;
+        rules = rules == null ? Map.of() : Map.copyOf(rules);
+    }
+}
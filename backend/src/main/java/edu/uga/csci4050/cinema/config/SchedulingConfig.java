@@ -0,0 +1,29 @@
+package edu.uga.csci4050.cinema.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Runs @Scheduled jobs on a small pool instead of Spring's default single
+ * thread, so a slow job (a search index rebuild, an outbox poll waiting on
+ * Mongo) does not hold up the hold sweeps and the others.
+ */
+@Configuration
+@Profile("!test")
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${app.scheduling.pool-size:4}") int poolSize,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setVirtualThreads(virtualThreads);
+        return scheduler;
+    }
+}
@@ -1,6 +1,8 @@
 package edu.uga.csci4050.cinema.config;
 
 import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -28,6 +30,8 @@ import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import edu.uga.csci4050.cinema.security.JwtService;
+import edu.uga.csci4050.cinema.security.RateLimitFilter;
+import edu.uga.csci4050.cinema.security.RateLimiter;
 
 import java.io.IOException;
 import java.util.List;
@@ -50,13 +54,18 @@ public class SecurityConfig {
     @Value("${app.cors.allowed-origins:http://localhost:3000}")
     private String allowedOrigins;
 
+    // Existing hashes with a lower cost are upgraded on their next sign-in
+    @Value("${app.security.bcrypt-strength:12}")
+    private int bcryptStrength;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12); // Increased strength
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, JwtService jwt) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtService jwt, RateLimiter rateLimiter)
+            throws Exception {
         return http
                 // CSRF disabled for stateless API (JWT-based authentication)
                 .csrf(csrf -> csrf.disable())
@@ -96,6 +105,12 @@ public class SecurityConfig {
                         // Public showroom/showtime browsing (read-only)
                         .requestMatchers(HttpMethod.GET, "/api/showrooms/**").permitAll()
 
+                        // Public showtime reads (seat maps)
+                        .requestMatchers(HttpMethod.GET, "/api/showtimes/**").permitAll()
+
+                        // Streaming catalog reads
+                        .requestMatchers(HttpMethod.GET, "/api/catalog/**").permitAll()
+
                         // Showroom management requires admin role
                         .requestMatchers(HttpMethod.POST, "/api/showrooms/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/showrooms/**").hasRole("ADMIN")
@@ -109,18 +124,28 @@ public class SecurityConfig {
 
                         // (already permitted above)
 
+                        // Seat holds require authentication
+                        .requestMatchers("/api/showtimes/*/holds/**").authenticated()
+
                         // Bookings require authentication
                         .requestMatchers("/api/bookings/**").authenticated()
 
                         // Profile management requires authentication
                         .requestMatchers("/api/profile/**").authenticated()
 
+                        // Actuator: health for load balancers, everything else (metrics, prometheus) admin only
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // All other requests require authentication
                         .anyRequest().authenticated())
 
                 // Add JWT filter before Spring Security's authentication filter
                 .addFilterBefore(new JwtFilter(jwt), UsernamePasswordAuthenticationFilter.class)
 
+                // Shed abusive auth traffic before any token or password work
+                .addFilterBefore(new RateLimitFilter(rateLimiter), JwtFilter.class)
+
                 .build();
     }
 
@@ -137,6 +162,8 @@ public class SecurityConfig {
                         .allowedOrigins(allowedOrigins.split(","))
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                         .allowedHeaders("*")
+                        // Response headers the frontend reads (paging cursor, seat map layout)
+                        .exposedHeaders("X-Next-Cursor", "X-Seat-Rows", "X-Seats-Per-Row")
                         .allowCredentials(true)
                         .maxAge(3600); // Cache preflight requests for 1 hour
             }
@@ -148,6 +175,8 @@ public class SecurityConfig {
      * Validates JWT tokens and sets authentication context
      */
     static class JwtFilter extends OncePerRequestFilter {
+        private static final Logger log = LoggerFactory.getLogger(JwtFilter.class);
+
         private final JwtService jwt;
 
         JwtFilter(JwtService jwt) {
@@ -183,8 +212,7 @@ public class SecurityConfig {
                     }
                 } catch (Exception e) {
                     // Invalid token - remain unauthenticated
-                    System.err.println(
-                            "[JwtFilter] Token parse failed: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+                    log.debug("Token parse failed: {}: {}", e.getClass().getSimpleName(), e.getMessage());
                     SecurityContextHolder.clearContext();
                 }
             }
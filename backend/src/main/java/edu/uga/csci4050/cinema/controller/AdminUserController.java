@@ -2,12 +2,13 @@ package edu.uga.csci4050.cinema.controller;
 
 import edu.uga.csci4050.cinema.model.User;
 import edu.uga.csci4050.cinema.repository.UserRepository;
+import edu.uga.csci4050.cinema.security.PasswordHashingService;
 import edu.uga.csci4050.cinema.service.MailService;
+import edu.uga.csci4050.cinema.service.UserPrincipalCache;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -17,13 +18,16 @@ import java.util.Map;
 @RequestMapping("/api/admin/users")
 public class AdminUserController {
     private final UserRepository users;
-    private final PasswordEncoder encoder;
+    private final PasswordHashingService hashing;
     private final MailService mail;
+    private final UserPrincipalCache principals;
 
-    public AdminUserController(UserRepository users, PasswordEncoder encoder, MailService mail) {
+    public AdminUserController(UserRepository users, PasswordHashingService hashing, MailService mail,
+            UserPrincipalCache principals) {
         this.users = users;
-        this.encoder = encoder;
+        this.hashing = hashing;
         this.mail = mail;
+        this.principals = principals;
     }
 
     @GetMapping
@@ -51,7 +55,7 @@ public class AdminUserController {
         User u = new User();
         u.setName(body.name);
         u.setEmail(body.email.toLowerCase());
-        u.setPasswordHash(encoder.encode(body.password));
+        u.setPasswordHash(hashing.encode(body.password));
         u.setRole(User.Role.ADMIN);
         u.setStatus(User.Status.ACTIVE);
         u.setEmailVerified(true);
@@ -74,6 +78,7 @@ public class AdminUserController {
                 }
             }
             users.save(u);
+            principals.invalidate(u.getEmail());
             return ResponseEntity.ok(u);
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -84,6 +89,7 @@ public class AdminUserController {
         return users.findById(id).map(u -> {
             u.setStatus(User.Status.SUSPENDED);
             users.save(u);
+            principals.invalidate(u.getEmail());
             try {
                 mail.send(u.getEmail(), "Account suspended", "Your account has been suspended.");
             } catch (Exception ignored) {
@@ -98,6 +104,7 @@ public class AdminUserController {
         return users.findById(id).map(u -> {
             u.setStatus(User.Status.ACTIVE);
             users.save(u);
+            principals.invalidate(u.getEmail());
             return ResponseEntity.ok(Map.of("message", "Unsuspended"));
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -107,6 +114,7 @@ public class AdminUserController {
     public ResponseEntity<?> delete(@PathVariable String id) {
         return users.findById(id).map(u -> {
             users.deleteById(id);
+            principals.invalidate(u.getEmail());
             try {
                 mail.send(u.getEmail(), "Account deleted", "Your account has been deleted by admin.");
             } catch (Exception ignored) {
@@ -4,16 +4,16 @@ import edu.uga.csci4050.cinema.controller.dto.AuthDtos.*;
 import edu.uga.csci4050.cinema.model.User;
 import edu.uga.csci4050.cinema.repository.UserRepository;
 import edu.uga.csci4050.cinema.security.JwtService;
+import edu.uga.csci4050.cinema.security.PasswordHashingService;
 import edu.uga.csci4050.cinema.service.MailService;
+import edu.uga.csci4050.cinema.service.UserPrincipalCache;
 import edu.uga.csci4050.cinema.util.TokenUtil;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.mail.MailException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 
 import java.net.URI;
 import java.time.Instant;
@@ -24,16 +24,21 @@ import java.util.Map;
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     private final UserRepository users;
-    private final PasswordEncoder encoder;
+    private final PasswordHashingService hashing;
     private final JwtService jwt;
     private final MailService mail;
+    private final UserPrincipalCache principals;
 
-    public AuthController(UserRepository users, PasswordEncoder encoder, JwtService jwt, MailService mail) {
+    public AuthController(UserRepository users, PasswordHashingService hashing, JwtService jwt, MailService mail,
+            UserPrincipalCache principals) {
         this.users = users;
-        this.encoder = encoder;
+        this.hashing = hashing;
         this.jwt = jwt;
         this.mail = mail;
+        this.principals = principals;
     }
 
     @PostMapping("/register")
@@ -44,7 +49,7 @@ public class AuthController {
         var u = new User();
         u.setName(body.name);
         u.setEmail(body.email.toLowerCase());
-        u.setPasswordHash(encoder.encode(body.password));
+        u.setPasswordHash(hashing.encode(body.password));
         u.setPromotionsOptIn(body.promotionsOptIn);
         u.setRole(User.Role.USER);
         u.setStatus(User.Status.INACTIVE);
@@ -54,15 +59,11 @@ public class AuthController {
         u.setEmailVerifyExpiry(Instant.now().plus(24, ChronoUnit.HOURS));
 
         String link = mail.frontendUrl() + "/verify?token=" + token;
-        try {
-            mail.send(u.getEmail(), "Confirm your Cinema E-Booking account",
-                    "Hi " + u.getName() + ",\n\nPlease confirm your email by visiting:\n" + link
-                            + "\n\nThis link expires in 24 hours.");
-
-            users.save(u);
-        } catch (MailException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getLocalizedMessage());
-        }
+        users.save(u);
+        // Queued in the mail outbox; delivery happens in the background
+        mail.send(u.getEmail(), "Confirm your Cinema E-Booking account",
+                "Hi " + u.getName() + ",\n\nPlease confirm your email by visiting:\n" + link
+                        + "\n\nThis link expires in 24 hours.");
 
         return ResponseEntity.ok(Map.of("message", "Registered. Please check your email to confirm."));
     }
@@ -79,24 +80,33 @@ public class AuthController {
         u.setEmailVerifyTokenHash(null);
         u.setEmailVerifyExpiry(null);
         users.save(u);
+        principals.invalidate(u.getEmail());
         return ResponseEntity.status(302).location(URI.create(mail.frontendUrl() + "/login?verified=1")).build();
     }
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody @Valid LoginRequest body) {
         var u = users.findByEmail(body.email.toLowerCase()).orElse(null);
-        if (u == null || !encoder.matches(body.password, u.getPasswordHash())) {
+        if (u == null || !hashing.matches(body.password, u.getPasswordHash())) {
+            log.debug("Login failed for {}: bad credentials", body.email);
             return ResponseEntity.status(401).body(Map.of("message", "Invalid credentials"));
         }
         if (!u.isEmailVerified()) {
             return ResponseEntity.status(401).body(Map.of("message", "Account not verified"));
         }
         if (u.getStatus() == User.Status.SUSPENDED) {
+            log.info("Login refused for suspended account {}", u.getEmail());
             return ResponseEntity.status(403).body(Map.of("message", "Account suspended"));
         }
         if (u.getStatus() != User.Status.ACTIVE) {
             return ResponseEntity.status(401).body(Map.of("message", "Account inactive"));
         }
+        // Re-hash at the current cost if this hash predates it
+        hashing.upgrade(body.password, u.getPasswordHash()).ifPresent(hash -> {
+            u.setPasswordHash(hash);
+            users.save(u);
+            log.debug("Upgraded password hash for {}", u.getEmail());
+        });
         String token = jwt.issue(u.getEmail(), body.rememberMe,
                 Map.of("role", u.getRole().name(), "name", u.getName()));
         return ResponseEntity.ok(Map.of("token", token, "role", u.getRole().name(), "name", u.getName()));
@@ -122,7 +132,7 @@ public class AuthController {
         if (u == null || u.getResetTokenExpiry() == null || u.getResetTokenExpiry().isBefore(Instant.now())) {
             return ResponseEntity.badRequest().body(Map.of("message", "Invalid or expired token"));
         }
-        u.setPasswordHash(encoder.encode(body.newPassword));
+        u.setPasswordHash(hashing.encode(body.newPassword));
         u.setResetTokenHash(null);
         u.setResetTokenExpiry(null);
         users.save(u);
@@ -1,138 +1,231 @@
 package edu.uga.csci4050.cinema.controller;
 
+import java.time.Instant;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 import java.util.Map;
 import java.util.Optional;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import edu.uga.csci4050.cinema.model.Showroom;
+import edu.uga.csci4050.cinema.model.SeatHold;
 import edu.uga.csci4050.cinema.model.TicketRecord;
 import edu.uga.csci4050.cinema.model.User;
-import edu.uga.csci4050.cinema.repository.ShowroomRepository;
+import edu.uga.csci4050.cinema.repository.ShowtimeRepository;
 import edu.uga.csci4050.cinema.repository.UserRepository;
 import edu.uga.csci4050.cinema.repository.MovieRepository;
-import edu.uga.csci4050.cinema.repository.TicketRepository;
+import edu.uga.csci4050.cinema.repository.TicketRecordRepository;
+import edu.uga.csci4050.cinema.service.CinemaMetrics;
+import edu.uga.csci4050.cinema.service.IdempotencyService;
 import edu.uga.csci4050.cinema.service.MailService;
-import edu.uga.csci4050.cinema.model.TicketInfo;
+import edu.uga.csci4050.cinema.service.PriceTable;
+import edu.uga.csci4050.cinema.service.SeatEvents;
+import edu.uga.csci4050.cinema.service.SeatHoldService;
+import edu.uga.csci4050.cinema.service.UserPrincipalCache;
 import edu.uga.csci4050.cinema.type.TicketType;
 import edu.uga.csci4050.cinema.type.BookingRequest;
 import edu.uga.csci4050.cinema.type.Showtime;
+import edu.uga.csci4050.cinema.type.ShowtimeSummary;
+import edu.uga.csci4050.cinema.type.UserPrincipalView;
 
 @RestController
 @RequestMapping("api/bookings")
 @CrossOrigin(origins = "http://localhost:3000")
 public class BookingController {
 
+    private static final Logger log = LoggerFactory.getLogger(BookingController.class);
+
     @Autowired
-    ShowroomRepository showroomRepository;
+    ShowtimeRepository showtimeRepository;
 
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    UserPrincipalCache userPrincipals;
+
     @Autowired
     MovieRepository movieRepository;
 
     @Autowired
-    TicketRepository ticketRepository;
+    TicketRecordRepository ticketRecordRepository;
+
+    @Autowired
+    PriceTable priceTable;
 
     @Autowired
     MailService mailService;
 
+    @Autowired
+    SeatHoldService seatHoldService;
+
+    @Autowired
+    SeatEvents seatEvents;
+
+    @Autowired
+    IdempotencyService idempotency;
+
+    @Autowired
+    CinemaMetrics metrics;
+
+    @Autowired
+    ObjectProvider<MeterRegistry> meterRegistry;
+
+    // Latency per booking phase
+    private Timer seatCheckTimer;
+    private Timer saveTimer;
+    private Timer ticketTimer;
+    private Timer mailTimer;
+
+    @PostConstruct
+    void initTimers() {
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        seatCheckTimer = phaseTimer(registry, "seat_check");
+        saveTimer = phaseTimer(registry, "save");
+        ticketTimer = phaseTimer(registry, "ticket_persist");
+        mailTimer = phaseTimer(registry, "mail_enqueue");
+    }
+
+    private static Timer phaseTimer(MeterRegistry registry, String phase) {
+        return Timer.builder("booking.phase")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
     @PostMapping
-    public ResponseEntity<Showroom> bookSeats(@RequestBody BookingRequest req, Authentication auth) {
-        System.out.println("\n\n*** BOOKING CONTROLLER CALLED ***");
-        System.out.println("Request object: " + req);
+    public ResponseEntity<Showtime> bookSeats(@RequestBody BookingRequest req, Authentication auth,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null || auth == null) {
+            return book(req, auth);
+        }
 
+        // A retried checkout gets the original answer instead of booking again
+        IdempotencyService.Claim claim = idempotency.begin(auth.getName(), idempotencyKey, req);
+        if (claim.isReplay()) {
+            return ResponseEntity.status(claim.replay().getStatus())
+                    .header(IdempotencyService.REPLAYED_HEADER, "true")
+                    .body(idempotency.body(claim.replay(), Showtime.class));
+        }
+        ResponseEntity<Showtime> response;
         try {
-            System.out.println("=== BOOKING REQUEST ===");
-            System.out.println("Showtime movieId: " + req.showtime().movieId());
-            System.out.println("Showtime start: " + req.showtime().start());
-            System.out.println("Showtime roomId: " + req.showtime().roomId());
-            System.out.println("Seats to book: " + Arrays.toString(req.seats()));
-
-            Showroom showroom = showroomRepository.findById(req.showtime().roomId()).orElseThrow();
-            System.out.println("Found showroom: " + showroom.getId());
-            System.out.println(
-                    "Showroom showtimes count: "
-                            + (showroom.getShowtimes() != null ? showroom.getShowtimes().size() : 0));
+            response = book(req, auth);
+        } catch (RuntimeException e) {
+            idempotency.abandon(claim);
+            throw e;
+        }
+        idempotency.complete(claim, response.getStatusCode().value(), response.getBody());
+        return response;
+    }
 
-            Showtime st = req.showtime();
+    private ResponseEntity<Showtime> book(BookingRequest req, Authentication auth) {
+        try {
+            log.debug("Booking request: movie={} room={} start={} seats={} hold={}", req.showtime().movieId(),
+                    req.showtime().roomId(), req.showtime().start(), req.seats(), req.holdToken());
 
-            String[] existing = st.bookedSeats() == null ? new String[0] : st.bookedSeats();
-            Set<String> existingSet = new HashSet<>(Arrays.asList(existing));
+            Showtime st = req.showtime();
+            String email = auth != null ? auth.getName() : null;
+            String roomId = st.roomId();
+            String movieId = st.movieId();
+            Instant start = st.start();
+            List<String> seats = req.seats() == null ? List.of() : Arrays.asList(req.seats());
 
-            // If any requested seat is already booked, return conflict
-            for (String seat : req.seats()) {
-                if (existingSet.contains(seat)) {
-                    System.out.println("Seat already booked: " + seat);
+            Timer.Sample phase = Timer.start();
+            String showtimeId;
+            SeatHold hold = null;
+            if (req.holdToken() != null && !req.holdToken().isBlank()) {
+                // Converting a hold: its seats and showtime are already validated
+                hold = seatHoldService.find(req.holdToken(), email).orElse(null);
+                if (hold == null) {
+                    phase.stop(seatCheckTimer);
+                    log.debug("Hold {} expired or not owned by caller", req.holdToken());
+                    metrics.seatConflict();
                     return ResponseEntity.status(409).build();
                 }
+                showtimeId = hold.getShowtimeId();
+                roomId = hold.getRoomId();
+                movieId = hold.getMovieId();
+                start = hold.getStart();
+                seats = hold.getSeats();
+            } else {
+                // Resolve the showtime on the server; the id in the request body is not trusted
+                ShowtimeSummary target = showtimeRepository.findSummaryByRoomIdAndMovieIdAndStart(roomId, movieId,
+                        start).orElse(null);
+                if (target == null) {
+                    phase.stop(seatCheckTimer);
+                    log.debug("No showtime for room={} movie={} start={}", roomId, movieId, start);
+                    return ResponseEntity.notFound().build();
+                }
+                if (seatHoldService.isHeldByOther(target.id(), seats, email)) {
+                    phase.stop(seatCheckTimer);
+                    log.debug("Seats {} held by another customer", seats);
+                    metrics.seatConflict();
+                    return ResponseEntity.status(409).build();
+                }
+                showtimeId = target.id();
             }
+            phase.stop(seatCheckTimer);
 
-            Set<String> merged = new HashSet<>(existingSet);
-            List<Showtime> showtimes = showroom.getShowtimes();
-
-            if (showtimes == null) {
-                System.out.println("ERROR: Showtimes list is null!");
-                return ResponseEntity.notFound().build();
+            // Single conditional update on the resolved showtime: the database only applies
+            // it if none of the requested seats are already booked there.
+            phase = Timer.start();
+            Optional<Showtime> reserved;
+            try {
+                reserved = showtimeRepository.reserveSeats(showtimeId, roomId, seats);
+            } catch (IllegalArgumentException e) {
+                log.debug("Rejected seats {}: {}", seats, e.getMessage());
+                return ResponseEntity.badRequest().build();
+            } finally {
+                phase.stop(saveTimer);
             }
-
-            merged.addAll(Arrays.asList(req.seats()));
-
-            Showtime updated = new Showtime(st.movieId(), st.start(), merged.toArray(new String[0]), st.roomId());
-
-            // Find and replace the showtime that matches both movieId and start time
-            boolean found = false;
-            for (int i = 0; i < showtimes.size(); i++) {
-                Showtime current = showtimes.get(i);
-                System.out.println(
-                        "Comparing: " + current.movieId() + " @ " + current.start() + " vs " + updated.movieId()
-                                + " @ " + updated.start());
-                if (current.movieId().equals(updated.movieId()) && current.start().equals(updated.start())) {
-                    System.out.println("MATCH FOUND! Updating index: " + i);
-                    showtimes.set(i, updated);
-                    found = true;
-                    break;
-                }
+            // The showtime was resolved above, so an empty result is a seat conflict
+            if (reserved.isEmpty()) {
+                log.debug("Seat conflict for {}", seats);
+                metrics.seatConflict();
+                return ResponseEntity.status(409).build();
             }
-            if (!found) {
-                System.out.println("ERROR: No matching showtime found!");
-                return ResponseEntity.notFound().build();
+            Showtime saved = reserved.get();
+            seatEvents.publish(saved.id(), SeatEvents.Kind.SOLD, seats);
+            if (hold != null) {
+                seatHoldService.consume(hold.getToken(), email);
             }
+            metrics.booked(seats.size());
+            log.debug("Reserved seats {} on showtime {}", seats, saved.id());
 
-            // Save the showroom with the updated showtimes
-            System.out.println("Saving showroom...");
-            Showroom saved = showroomRepository.save(showroom);
-            System.out
-                    .println("Saved! Booked seats now: " + Arrays.toString(saved.getShowtimes().get(0).bookedSeats()));
-
-            // Persist a ticket record to the authenticated user's document (if available)
+            // Persist a ticket record for the authenticated user (if available)
             try {
                 if (auth != null && auth.getName() != null) {
-                    Optional<User> maybeUser = userRepository.findByEmail(auth.getName());
+                    phase = Timer.start();
+                    Optional<UserPrincipalView> maybeUser = userPrincipals.get(auth.getName());
                     if (maybeUser.isPresent()) {
-                        User user = maybeUser.get();
+                        UserPrincipalView user = maybeUser.get();
                         TicketRecord tr = new TicketRecord();
                         tr.setTicketNumber(UUID.randomUUID().toString());
-                        tr.setMovieId(req.showtime().movieId());
+                        tr.setUserEmail(user.email());
+                        tr.setMovieId(movieId);
                         // Try to populate movie title when available
-                        movieRepository.findById(req.showtime().movieId())
+                        movieRepository.findById(movieId)
                                 .ifPresent(m -> tr.setMovieTitle(m.getTitle()));
-                        tr.setShowroomId(saved.getId());
-                        tr.setShowtime(req.showtime().start());
-                        tr.setSeats(Arrays.asList(req.seats()));
+                        tr.setShowtimeId(saved.id());
+                        tr.setShowroomId(saved.roomId());
+                        tr.setShowtime(start);
+                        tr.setSeats(seats);
                         Map<String, Integer> counts = req.ticketCounts();
                         tr.setTicketCounts(counts == null ? Map.of() : counts);
 
@@ -140,7 +233,9 @@ public class BookingController {
                         try {
                             String cardId = req.paymentCardId();
                             if (cardId != null && !cardId.isBlank()) {
-                                var cards = user.getPaymentCards();
+                                // Cards are not part of the identity projection
+                                var cards = userRepository.findByEmail(user.email())
+                                        .map(User::getPaymentCards).orElse(List.of());
                                 var cardOpt = cards.stream().filter(c -> cardId.equals(c.getId())).findFirst();
                                 if (cardOpt.isPresent()) {
                                     var card = cardOpt.get();
@@ -158,39 +253,37 @@ public class BookingController {
                                 }
                             }
                         } catch (Exception ex) {
-                            System.out.println("Failed to attach payment card to ticket: " + ex.getMessage());
+                            log.warn("Failed to attach payment card to ticket: {}", ex.getMessage());
                         }
 
-                        user.getTickets().add(tr);
-                        userRepository.save(user);
-                        System.out.println("Ticket record appended for user: " + user.getEmail());
+                        ticketRecordRepository.insert(tr);
+                        phase.stop(ticketTimer);
+                        log.debug("Ticket {} saved for {}", tr.getTicketNumber(), user.email());
 
                         // After persisting the user's ticket record, attempt to send a confirmation
                         // email
+                        Timer.Sample mailPhase = Timer.start();
                         try {
-                            // Compute simple price breakdown from ticketRepo
+                            // Compute simple price breakdown from the in-memory price table
                             var ticketCountsMap = tr.getTicketCounts();
-                            double adultPrice = ticketRepository.findByType(TicketType.ADULT).map(TicketInfo::getPrice)
-                                    .orElse(0.0);
-                            double childPrice = ticketRepository.findByType(TicketType.CHILD).map(TicketInfo::getPrice)
-                                    .orElse(0.0);
-                            double seniorPrice = ticketRepository.findByType(TicketType.SENIOR)
-                                    .map(TicketInfo::getPrice).orElse(0.0);
+                            double adultPrice = priceTable.price(TicketType.ADULT).doubleValue();
+                            double childPrice = priceTable.price(TicketType.CHILD).doubleValue();
+                            double seniorPrice = priceTable.price(TicketType.SENIOR).doubleValue();
                             int aCnt = ticketCountsMap == null ? 0 : ticketCountsMap.getOrDefault("adult", 0);
                             int cCnt = ticketCountsMap == null ? 0 : ticketCountsMap.getOrDefault("child", 0);
                             int sCnt = ticketCountsMap == null ? 0 : ticketCountsMap.getOrDefault("senior", 0);
                             double subtotal = aCnt * adultPrice + cCnt * childPrice + sCnt * seniorPrice;
 
                             StringBuilder body = new StringBuilder();
-                            body.append("Hello ").append(user.getName() != null ? user.getName() : user.getEmail())
+                            body.append("Hello ").append(user.name() != null ? user.name() : user.email())
                                     .append(",\n\n");
                             body.append("Your booking is confirmed. Here are the details:\n\n");
                             body.append("Movie: ");
-                            movieRepository.findById(req.showtime().movieId()).ifPresentOrElse(
+                            movieRepository.findById(movieId).ifPresentOrElse(
                                     m -> body.append(m.getTitle()).append('\n'),
                                     () -> body.append("(unknown)\n"));
-                            body.append("Showtime: ").append(req.showtime().start()).append('\n');
-                            body.append("Seats: ").append(String.join(", ", req.seats())).append('\n');
+                            body.append("Showtime: ").append(start).append('\n');
+                            body.append("Seats: ").append(String.join(", ", seats)).append('\n');
                             body.append("\nTickets:\n");
                             if (aCnt > 0)
                                 body.append("  Adult: ").append(aCnt).append(" x $")
@@ -209,26 +302,27 @@ public class BookingController {
                             body.append("\nThanks for booking with Cinema App!\n");
 
                             final String subject = "Your Cinema App Booking - " + (movieRepository
-                                    .findById(req.showtime().movieId()).map(m -> m.getTitle()).orElse("Movie"));
+                                    .findById(movieId).map(m -> m.getTitle()).orElse("Movie"));
                             // Send mail (best effort)
-                            mailService.send(user.getEmail(), subject, body.toString());
+                            mailService.send(user.email(), subject, body.toString());
                         } catch (Exception ex) {
-                            System.out.println("Failed to send booking confirmation email: " + ex.getMessage());
+                            log.warn("Failed to send booking confirmation email: {}", ex.getMessage());
+                        } finally {
+                            mailPhase.stop(mailTimer);
                         }
                     } else {
-                        System.out.println("Authenticated user not found in DB: " + auth.getName());
+                        log.warn("Authenticated user not found in DB: {}", auth.getName());
                     }
                 } else {
-                    System.out.println("No authenticated principal available to persist ticket record.");
+                    log.debug("No authenticated principal available to persist ticket record");
                 }
             } catch (Exception e) {
-                System.out.println("Failed to persist ticket record: " + e.getMessage());
+                log.error("Failed to persist ticket record", e);
             }
 
             return ResponseEntity.ok(saved);
         } catch (Exception e) {
-            System.out.println("EXCEPTION IN BOOKING CONTROLLER:");
-            e.printStackTrace();
+            log.error("Booking failed", e);
             throw e;
         }
     }
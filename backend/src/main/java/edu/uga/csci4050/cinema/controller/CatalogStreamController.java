@@ -0,0 +1,96 @@
+package edu.uga.csci4050.cinema.controller;
+
+import edu.uga.csci4050.cinema.repository.ReactiveMovieRepository;
+import edu.uga.csci4050.cinema.repository.ReactiveShowtimeRepository;
+import edu.uga.csci4050.cinema.service.ShowingsProjection;
+import edu.uga.csci4050.cinema.type.MovieSummary;
+import edu.uga.csci4050.cinema.type.ShowtimeSummary;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Read-only catalog streamed from the reactive Mongo driver.
+ *
+ * Each endpoint returns a Flux, written as NDJSON (application/x-ndjson) or
+ * SSE (text/event-stream) depending on Accept. Spring MVC handles these
+ * asynchronously: the request thread is released as soon as the query is
+ * issued, and rows are written from the driver's threads as they arrive.
+ * The blocking /api/movies and /api/showrooms endpoints are unchanged.
+ */
+@RestController
+@RequestMapping(value = "/api/catalog", produces = { MediaType.APPLICATION_NDJSON_VALUE,
+        MediaType.TEXT_EVENT_STREAM_VALUE })
+public class CatalogStreamController {
+
+    private final ReactiveMovieRepository movies;
+    private final ReactiveShowtimeRepository showtimes;
+    private final ShowingsProjection showings;
+
+    public CatalogStreamController(ReactiveMovieRepository movies, ReactiveShowtimeRepository showtimes,
+            ShowingsProjection showings) {
+        this.movies = movies;
+        this.showtimes = showtimes;
+        this.showings = showings;
+    }
+
+    /** Every movie as a MovieSummary, by title. */
+    @GetMapping("/movies")
+    public Flux<MovieSummary> movies() {
+        return movies.findSummariesBy(Sort.by("title"));
+    }
+
+    @GetMapping("/movies/now-showing")
+    public Flux<MovieSummary> nowShowing() {
+        return listed(showings.nowShowing());
+    }
+
+    @GetMapping("/movies/upcoming")
+    public Flux<MovieSummary> upcoming() {
+        return listed(showings.upcoming());
+    }
+
+    /**
+     * Showtimes of one movie starting in [from, to), without seat data.
+     * Both bounds are optional ISO-8601 instants.
+     */
+    @GetMapping("/movies/{id}/showtimes")
+    public Flux<ShowtimeSummary> movieShowtimes(@PathVariable String id,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        Range.Bound<Instant> lower = from == null ? Range.Bound.unbounded() : Range.Bound.inclusive(from);
+        Range.Bound<Instant> upper = to == null ? Range.Bound.unbounded() : Range.Bound.exclusive(to);
+        return showtimes.findByMovieIdAndStartBetween(id, Range.of(lower, upper), Sort.by("start"));
+    }
+
+    /**
+     * Showtimes of one showroom by start, without seat data; seats of one
+     * showtime come from /api/showtimes/{id}/seatmap.
+     */
+    @GetMapping("/showrooms/{id}/showtimes")
+    public Flux<ShowtimeSummary> showroomShowtimes(@PathVariable String id) {
+        return showtimes.findByRoomIdOrderByStartAsc(id);
+    }
+
+    private Flux<MovieSummary> listed(Set<String> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return movies.findSummariesByIdIn(List.copyOf(ids));
+    }
+}
@@ -14,17 +14,28 @@ import org.springframework.http.HttpStatus;
 import edu.uga.csci4050.cinema.type.RatingCode;
 
 import edu.uga.csci4050.cinema.model.MovieItem;
+import edu.uga.csci4050.cinema.type.MovieSummary;
+import edu.uga.csci4050.cinema.type.ShowtimeSummary;
 import edu.uga.csci4050.cinema.util.HttpUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import edu.uga.csci4050.cinema.repository.MovieRepository;
+import edu.uga.csci4050.cinema.repository.ShowtimeRepository;
+import edu.uga.csci4050.cinema.service.MovieCatalogCache;
+import edu.uga.csci4050.cinema.service.ShowingsProjection;
 
+import java.time.Instant;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/movies")
@@ -36,86 +47,225 @@ public class MovieController {
     @Autowired
     MongoTemplate mongoTemplate;
 
+    @Autowired
+    ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    MovieCatalogCache catalogCache;
+
+    @Autowired
+    ShowingsProjection showings;
+
     @GetMapping("/{id}")
     public ResponseEntity<MovieItem> getMovie(@PathVariable String id) {
-        return movieRepository.findById(id)
+        return catalogCache.getMovie(id, movieRepository::findById)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Showtimes of one movie starting in [from, to), without seat data.
+     * Both bounds are optional ISO-8601 instants.
+     */
+    @GetMapping("/{id}/showtimes")
+    public ResponseEntity<List<ShowtimeSummary>> getMovieShowtimes(@PathVariable String id,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(showtimeRepository.findSummaries(id, from, to));
+    }
+
+    /**
+     * Movies matching the optional title/genre filters, one page at a time.
+     *
+     * Pages are keyed by the id of the last movie returned (after=<id>); the
+     * X-Next-Cursor header carries it when more results exist. Without limit
+     * every match is returned, as before paging existed. Filtered searches
+     * keep their ranking, unfiltered listings go in id order. fields=
+     * restricts which MovieItem properties are loaded and returned.
+     */
     @GetMapping
     public ResponseEntity<List<MovieItem>> getMovies(
             @RequestParam(required = false) String title,
-            @RequestParam(required = false) List<String> genres) {
+            @RequestParam(required = false) List<String> genres,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) List<String> fields) {
+
+        int pageSize = pageSize(limit);
+        Set<String> projection = projection(fields);
 
-        System.out.println("Searching for movies");
-        List<MovieItem> collection = movieRepository.searchMovies(title, genres);
-        System.out.println("Returning movies now");
+        List<MovieItem> page;
+        if (isBlank(title) && (genres == null || genres.isEmpty())) {
+            // Plain listing: keyset page straight from Mongo, one extra row to detect a next page
+            page = movieRepository.findPage(after, fetchSize(pageSize), projection);
+        } else {
+            List<MovieItem> ranked = movieRepository.searchMovies(title, genres);
+            page = pageAfter(ranked, after, fetchSize(pageSize), MovieItem::getId);
+            if (!projection.isEmpty()) {
+                page = page.stream().map(m -> project(m, projection)).toList();
+            }
+        }
 
-        return HttpUtils.buildResponseEntity(collection,
+        return pageResponse(page, pageSize, MovieItem::getId,
                 "Could not find movies that match the applied filters.");
     }
 
     /**
-     * Upcoming movies: movies NOT currently showing in any showroom.
-     * Determined solely by Showrooms' embedded showtimes list (no MovieItem fields
-     * involved).
-     * A movie is considered "currently showing" if any showroom has a showtime with
-     * start <= now.
+     * Grid view of GET /api/movies: same filters and paging, MovieSummary rows.
      */
-    @GetMapping("/upcoming")
-    public ResponseEntity<List<MovieItem>> getUpcomingMovies() {
-        java.time.Instant now = java.time.Instant.now();
-
-        // Find showrooms that have at least one showtime with start <= now
-        Query activeShowroomsQuery = new Query(
-                Criteria.where("showtimes").elemMatch(Criteria.where("start").lte(now)));
-
-        List<org.bson.Document> activeShowrooms = mongoTemplate.find(activeShowroomsQuery, org.bson.Document.class,
-                "showrooms");
-
-        java.util.Set<String> activeMovieIds = new java.util.HashSet<>();
-        for (org.bson.Document showroom : activeShowrooms) {
-            Object showtimesObj = showroom.get("showtimes");
-            if (showtimesObj instanceof java.util.List<?> list) {
-                for (Object o : list) {
-                    if (o instanceof org.bson.Document st) {
-                        Object start = st.get("start");
-                        Object movieId = st.get("movieId");
-                        if (start instanceof java.util.Date && movieId instanceof String) {
-                            java.time.Instant stInstant = ((java.util.Date) start).toInstant();
-                            if (!stInstant.isAfter(now)) { // start <= now
-                                activeMovieIds.add((String) movieId);
-                            }
-                        }
-                    }
-                }
+    @GetMapping("/summaries")
+    public ResponseEntity<List<MovieSummary>> getMovieSummaries(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) List<String> genres,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+
+        int pageSize = pageSize(limit);
+        List<MovieSummary> page;
+        if (isBlank(title) && (genres == null || genres.isEmpty())) {
+            page = movieRepository.findSummaryPage(after, fetchSize(pageSize));
+        } else {
+            List<MovieItem> ranked = movieRepository.searchMovies(title, genres);
+            page = pageAfter(ranked, after, fetchSize(pageSize), MovieItem::getId).stream()
+                    .map(m -> new MovieSummary(m.getId(), m.getTitle(), m.getPoster(), m.getRating(), m.getGenres()))
+                    .toList();
+        }
+
+        return pageResponse(page, pageSize, MovieSummary::id,
+                "Could not find movies that match the applied filters.");
+    }
+
+    /** Page size of a request without limit; also Mongo's "no limit". */
+    private static final int UNPAGED = 0;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final Set<String> MOVIE_FIELDS = Set.of("id", "title", "genres", "cast", "director",
+            "producer", "synopsis", "reviews", "poster", "trailer", "rating");
+
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return UNPAGED;
+        }
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    /** One row more than the page, to detect a next page. */
+    private static int fetchSize(int pageSize) {
+        return pageSize == UNPAGED ? UNPAGED : pageSize + 1;
+    }
+
+    private static Set<String> projection(List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> out = new LinkedHashSet<>();
+        for (String f : fields) {
+            String name = f.trim();
+            if (!MOVIE_FIELDS.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown movie field: " + name);
             }
+            out.add(name);
         }
+        return out;
+    }
 
-        // Upcoming = movies whose _id not in activeMovieIds (or all movies if none
-        // active)
-        Query moviesQuery = new Query();
-        if (!activeMovieIds.isEmpty()) {
-            // Convert string IDs to ObjectId for comparison with _id
-            java.util.List<org.bson.types.ObjectId> excludeIds = new java.util.ArrayList<>();
-            for (String idStr : activeMovieIds) {
-                try {
-                    excludeIds.add(new org.bson.types.ObjectId(idStr));
-                } catch (IllegalArgumentException ignored) {
-                    // skip invalid ObjectId strings
+    /**
+     * Up to limit items (all if UNPAGED) following the one with id after, or
+     * from the start if after is null. An after that is not in the results
+     * is rejected rather than silently restarting at the first page.
+     */
+    private static <T> List<T> pageAfter(List<T> items, String after, int limit, Function<T, String> id) {
+        int from = 0;
+        if (!isBlank(after)) {
+            from = -1;
+            for (int i = 0; i < items.size(); i++) {
+                if (after.equals(id.apply(items.get(i)))) {
+                    from = i + 1;
+                    break;
                 }
             }
-            if (!excludeIds.isEmpty()) {
-                moviesQuery.addCriteria(Criteria.where("_id").nin(excludeIds));
+            if (from < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown cursor: " + after);
             }
         }
-        moviesQuery.limit(50);
-        moviesQuery.fields().include("title").include("poster").include("genres").include("synopsis").include("rating");
+        int to = limit == UNPAGED ? items.size() : Math.min(from + limit, items.size());
+        return items.subList(from, to);
+    }
 
-        List<MovieItem> upcoming = mongoTemplate.find(moviesQuery, MovieItem.class, "movies");
+    /** Trims the look-ahead row and sets X-Next-Cursor if there was one. */
+    private static <T> ResponseEntity<List<T>> pageResponse(List<T> fetched, int pageSize, Function<T, String> id,
+            String notFoundMsg) {
+        if (pageSize == UNPAGED || fetched.size() <= pageSize) {
+            return HttpUtils.buildResponseEntity(fetched, notFoundMsg);
+        }
+        List<T> page = fetched.subList(0, pageSize);
+        return ResponseEntity.ok()
+                .header("X-Next-Cursor", id.apply(page.get(pageSize - 1)))
+                .body(page);
+    }
+
+    private static MovieItem project(MovieItem m, Set<String> fields) {
+        MovieItem out = new MovieItem();
+        out.setId(m.getId());
+        if (fields.contains("title")) out.setTitle(m.getTitle());
+        if (fields.contains("genres")) out.setGenres(m.getGenres());
+        if (fields.contains("cast")) out.setCast(m.getCast());
+        if (fields.contains("director")) out.setDirector(m.getDirector());
+        if (fields.contains("producer")) out.setProducer(m.getProducer());
+        if (fields.contains("synopsis")) out.setSynopsis(m.getSynopsis());
+        if (fields.contains("reviews")) out.setReviews(m.getReviews());
+        if (fields.contains("poster")) out.setPoster(m.getPoster());
+        if (fields.contains("trailer")) out.setTrailer(m.getTrailer());
+        if (fields.contains("rating")) out.setRating(m.getRating());
+        return out;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    /**
+     * Upcoming movies: movies with showtimes scheduled, none of which has
+     * started yet. Read from the maintained showings sets.
+     */
+    @GetMapping("/upcoming")
+    public ResponseEntity<List<MovieItem>> getUpcomingMovies() {
         // Always return 200 with list (possibly empty) so frontend can decide rendering
-        return ResponseEntity.ok(upcoming);
+        return ResponseEntity.ok(findListed(showings.upcoming()));
+    }
+
+    /**
+     * Now showing: movies whose showtimes have started and are not all over.
+     */
+    @GetMapping("/now-showing")
+    public ResponseEntity<List<MovieItem>> getNowShowingMovies() {
+        return ResponseEntity.ok(findListed(showings.nowShowing()));
+    }
+
+    private List<MovieItem> findListed(Set<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Query moviesQuery = new Query(Criteria.where("_id").in(List.copyOf(ids)));
+        // Stable order so the 50-movie cap cuts the same list every time
+        moviesQuery.with(Sort.by("title", "_id")).limit(50);
+        moviesQuery.fields().include("title").include("poster").include("genres").include("synopsis").include("rating");
+        return mongoTemplate.find(moviesQuery, MovieItem.class);
+    }
+
+    /**
+     * Hit/miss/eviction counters of the catalog cache.
+     */
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getCacheStats() {
+        return ResponseEntity.ok(catalogCache.stats());
     }
 
     // ---------- Create Movie ----------
@@ -154,6 +304,7 @@ public class MovieController {
         }
 
         MovieItem saved = movieRepository.save(m);
+        catalogCache.invalidate(saved.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
@@ -185,7 +336,9 @@ public class MovieController {
                             m.setRating(RatingCode.NR);
                         }
                     }
-                    return ResponseEntity.ok(movieRepository.save(m));
+                    MovieItem saved = movieRepository.save(m);
+                    catalogCache.invalidate(id);
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -196,6 +349,7 @@ public class MovieController {
         return movieRepository.findById(id)
                 .map(m -> {
                     movieRepository.deleteById(id);
+                    catalogCache.invalidate(id);
                     return ResponseEntity.noContent().<Void>build();
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -1,20 +1,28 @@
 package edu.uga.csci4050.cinema.controller;
 
 import edu.uga.csci4050.cinema.controller.dto.ProfileDtos.*;
+import edu.uga.csci4050.cinema.model.TicketRecord;
 import edu.uga.csci4050.cinema.model.User;
-import edu.uga.csci4050.cinema.model.Showroom;
 import edu.uga.csci4050.cinema.repository.UserRepository;
-import edu.uga.csci4050.cinema.repository.ShowroomRepository;
-import edu.uga.csci4050.cinema.type.Showtime;
+import edu.uga.csci4050.cinema.repository.ShowtimeRepository;
+import edu.uga.csci4050.cinema.repository.TicketRecordRepository;
 import edu.uga.csci4050.cinema.security.CryptoService;
+import edu.uga.csci4050.cinema.security.PasswordHashingService;
+import edu.uga.csci4050.cinema.service.CinemaMetrics;
 import edu.uga.csci4050.cinema.service.MailService;
+import edu.uga.csci4050.cinema.service.SeatEvents;
+import edu.uga.csci4050.cinema.service.UserPrincipalCache;
+import edu.uga.csci4050.cinema.type.Showtime;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import edu.uga.csci4050.cinema.controller.dto.ProfileDtos;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,19 +32,33 @@ import java.util.Optional;
 @RequestMapping("/api/profile")
 public class ProfileController {
 
+    private static final Logger log = LoggerFactory.getLogger(ProfileController.class);
+
     private final UserRepository users;
-    private final ShowroomRepository showrooms;
-    private final PasswordEncoder encoder;
+    private final ShowtimeRepository showtimes;
+    private final TicketRecordRepository tickets;
+    private final PasswordHashingService hashing;
     private final CryptoService crypto;
     private final MailService mail;
+    private final UserPrincipalCache principals;
+    private final CinemaMetrics metrics;
+    private final SeatEvents seatEvents;
 
-    public ProfileController(UserRepository users, ShowroomRepository showrooms, PasswordEncoder encoder,
-            CryptoService crypto, MailService mail) {
+    private static final int DEFAULT_TICKET_PAGE = 20;
+    private static final int MAX_TICKET_PAGE = 100;
+
+    public ProfileController(UserRepository users, ShowtimeRepository showtimes, TicketRecordRepository tickets,
+            PasswordHashingService hashing, CryptoService crypto, MailService mail, UserPrincipalCache principals,
+            CinemaMetrics metrics, SeatEvents seatEvents) {
         this.users = users;
-        this.showrooms = showrooms;
-        this.encoder = encoder;
+        this.showtimes = showtimes;
+        this.tickets = tickets;
+        this.hashing = hashing;
         this.crypto = crypto;
         this.mail = mail;
+        this.principals = principals;
+        this.metrics = metrics;
+        this.seatEvents = seatEvents;
     }
 
     private Optional<User> me(Authentication a) {
@@ -70,35 +92,73 @@ public class ProfileController {
 
         resp.put("paymentCards", cards);
 
-        // Include ticket history (if any)
-        List<Map<String, Object>> ticketMaps = u.getTickets().stream().map(t -> {
-            Map<String, Object> m = new HashMap<>();
-            m.put("ticketNumber", t.getTicketNumber());
-            m.put("movieId", t.getMovieId());
-            m.put("movieTitle", t.getMovieTitle() != null ? t.getMovieTitle() : "");
-            m.put("showroomId", t.getShowroomId());
-            m.put("showtime", t.getShowtime());
-            m.put("seats", t.getSeats());
-            m.put("ticketCounts", t.getTicketCounts() != null ? t.getTicketCounts() : Map.of());
-            m.put("createdAt", t.getCreatedAt());
-            if (t.getPaymentCard() != null) {
-                Map<String, Object> pc = new HashMap<>();
-                pc.put("id", t.getPaymentCard().getId());
-                pc.put("brand", t.getPaymentCard().getBrand());
-                pc.put("last4", t.getPaymentCard().getLast4());
-                pc.put("expMonth", t.getPaymentCard().getExpMonth());
-                pc.put("expYear", t.getPaymentCard().getExpYear());
-                pc.put("billingName", t.getPaymentCard().getBillingName());
-                pc.put("billingAddress", t.getPaymentCard().getBillingAddress());
-                m.put("paymentCard", pc);
-            }
-            return m;
-        }).toList();
-        resp.put("tickets", ticketMaps);
+        // Ticket history is paged separately via GET /api/profile/tickets
 
         return ResponseEntity.ok(resp);
     }
 
+    /**
+     * Ticket history, newest first. Pass the X-Next-Cursor value of the
+     * previous page as {@code before} to continue; it is opaque to clients
+     * (createdAt and ticket number of the last ticket returned).
+     */
+    @GetMapping("/tickets")
+    public ResponseEntity<?> getTickets(Authentication auth,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
+        if (auth == null || auth.getName() == null)
+            return ResponseEntity.status(401).build();
+        int size = limit == null ? DEFAULT_TICKET_PAGE : Math.max(1, Math.min(limit, MAX_TICKET_PAGE));
+
+        Instant createdAt = null;
+        String ticketNumber = null;
+        if (before != null && !before.isBlank()) {
+            int sep = before.indexOf('_');
+            if (sep < 0)
+                return ResponseEntity.badRequest().build();
+            try {
+                createdAt = Instant.parse(before.substring(0, sep));
+            } catch (DateTimeParseException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            ticketNumber = before.substring(sep + 1);
+        }
+        // One extra row tells whether another page follows
+        List<TicketRecord> rows = tickets.findHistoryPage(auth.getName(), createdAt, ticketNumber, size + 1);
+
+        var response = ResponseEntity.ok();
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            TicketRecord last = rows.get(size - 1);
+            response.header("X-Next-Cursor", last.getCreatedAt() + "_" + last.getTicketNumber());
+        }
+        return response.body(rows.stream().map(ProfileController::ticketView).toList());
+    }
+
+    private static Map<String, Object> ticketView(TicketRecord t) {
+        Map<String, Object> m = new HashMap<>();
+        m.put("ticketNumber", t.getTicketNumber());
+        m.put("movieId", t.getMovieId());
+        m.put("movieTitle", t.getMovieTitle() != null ? t.getMovieTitle() : "");
+        m.put("showroomId", t.getShowroomId());
+        m.put("showtime", t.getShowtime());
+        m.put("seats", t.getSeats());
+        m.put("ticketCounts", t.getTicketCounts() != null ? t.getTicketCounts() : Map.of());
+        m.put("createdAt", t.getCreatedAt());
+        if (t.getPaymentCard() != null) {
+            Map<String, Object> pc = new HashMap<>();
+            pc.put("id", t.getPaymentCard().getId());
+            pc.put("brand", t.getPaymentCard().getBrand());
+            pc.put("last4", t.getPaymentCard().getLast4());
+            pc.put("expMonth", t.getPaymentCard().getExpMonth());
+            pc.put("expYear", t.getPaymentCard().getExpYear());
+            pc.put("billingName", t.getPaymentCard().getBillingName());
+            pc.put("billingAddress", t.getPaymentCard().getBillingAddress());
+            m.put("paymentCard", pc);
+        }
+        return m;
+    }
+
     @PutMapping
     public ResponseEntity<?> update(Authentication auth, @RequestBody @Valid UpdateProfileRequest body) {
         var u = me(auth).orElse(null);
@@ -119,6 +179,7 @@ public class ProfileController {
         }
         if (changed) {
             users.save(u);
+            principals.invalidate(u.getEmail());
             mail.send(u.getEmail(), "Your profile was changed", "We noticed profile info was updated.");
         }
         return ResponseEntity.ok(Map.of("message", "Updated"));
@@ -129,10 +190,10 @@ public class ProfileController {
         var u = me(auth).orElse(null);
         if (u == null)
             return ResponseEntity.status(401).build();
-        if (!encoder.matches(body.currentPassword, u.getPasswordHash())) {
+        if (!hashing.matches(body.currentPassword, u.getPasswordHash())) {
             return ResponseEntity.status(400).body(Map.of("message", "Current password incorrect"));
         }
-        u.setPasswordHash(encoder.encode(body.newPassword));
+        u.setPasswordHash(hashing.encode(body.newPassword));
         users.save(u);
         mail.send(u.getEmail(), "Your password was changed", "If this wasn't you, reset it now.");
         return ResponseEntity.ok(Map.of("message", "Password changed"));
@@ -249,15 +310,13 @@ public class ProfileController {
 
     @DeleteMapping("/tickets/{ticketNumber}")
     public ResponseEntity<?> returnTicket(@PathVariable String ticketNumber, Authentication auth) {
-        var u = me(auth).orElse(null);
+        var u = principals.get(auth.getName()).orElse(null);
         if (u == null) {
             return ResponseEntity.status(401).build();
         }
 
         // Find the ticket
-        var ticketOpt = u.getTickets().stream()
-                .filter(t -> t.getTicketNumber().equals(ticketNumber))
-                .findFirst();
+        var ticketOpt = tickets.findByTicketNumberAndUserEmail(ticketNumber, u.email());
 
         if (ticketOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -272,44 +331,27 @@ public class ProfileController {
 
         boolean eligibleForRefund = minutesUntilShow >= 60;
 
-        // Remove ticket from user's list
-        u.getTickets().remove(ticket);
-        users.save(u);
+        // Remove the ticket record; of two concurrent returns only the one that deleted it goes on
+        if (tickets.deleteByTicketNumberAndUserEmail(ticket.getTicketNumber(), u.email()) != 1) {
+            return ResponseEntity.notFound().build();
+        }
+        metrics.ticketReturned(eligibleForRefund);
 
         // Attempt to free seats on the associated showtime
         try {
-            if (ticket.getShowroomId() != null && ticket.getShowtime() != null) {
-                var showroomOpt = showrooms.findById(ticket.getShowroomId());
-                if (showroomOpt.isPresent()) {
-                    Showroom showroom = showroomOpt.get();
-                    var sts = showroom.getShowtimes();
-                    if (sts != null) {
-                        for (int i = 0; i < sts.size(); i++) {
-                            Showtime st = sts.get(i);
-                            if (st != null
-                                    && ticket.getMovieId() != null
-                                    && ticket.getMovieId().equals(st.movieId())
-                                    && ticket.getShowtime().equals(st.start())) {
-                                // remove the seats from bookedSeats
-                                java.util.Set<String> seatSet = new java.util.HashSet<>();
-                                if (st.bookedSeats() != null) {
-                                    seatSet.addAll(java.util.Arrays.asList(st.bookedSeats()));
-                                }
-                                if (ticket.getSeats() != null) {
-                                    seatSet.removeAll(ticket.getSeats());
-                                }
-                                Showtime updated = new Showtime(st.movieId(), st.start(),
-                                        seatSet.toArray(new String[0]), st.roomId());
-                                sts.set(i, updated);
-                                showrooms.save(showroom);
-                                break;
-                            }
-                        }
-                    }
-                }
+            // Older tickets carry no showtime id; find it from room, movie and start
+            String showtimeId = ticket.getShowtimeId();
+            if (showtimeId == null && ticket.getShowroomId() != null && ticket.getShowtime() != null
+                    && ticket.getMovieId() != null) {
+                showtimeId = showtimes.findFirstByRoomIdAndMovieIdAndStart(ticket.getShowroomId(),
+                        ticket.getMovieId(), ticket.getShowtime()).map(Showtime::id).orElse(null);
+            }
+            if (showtimeId != null && ticket.getSeats() != null
+                    && showtimes.releaseSeats(showtimeId, ticket.getShowroomId(), ticket.getSeats())) {
+                seatEvents.publish(showtimeId, SeatEvents.Kind.RELEASED, ticket.getSeats());
             }
         } catch (Exception ex) {
-            System.out.println("Failed to free seats for returned ticket: " + ex.getMessage());
+            log.warn("Failed to free seats for returned ticket {}: {}", ticketNumber, ex.getMessage());
         }
 
         // Send email notification
@@ -321,7 +363,7 @@ public class ProfileController {
                         "Seats: %s\n\n" +
                         "%s\n\n" +
                         "Thank you,\nPeakCinema",
-                u.getName(),
+                u.name(),
                 ticket.getMovieTitle() != null ? ticket.getMovieTitle() : "Movie",
                 ticket.getShowtime().toString(),
                 ticket.getTicketNumber(),
@@ -331,9 +373,9 @@ public class ProfileController {
                         : "Since the cancellation was within 60 minutes of the showtime, no refund is available.");
 
         try {
-            mail.send(u.getEmail(), subject, body);
+            mail.send(u.email(), subject, body);
         } catch (Exception e) {
-            System.out.println("Failed to send cancellation email: " + e.getMessage());
+            log.warn("Failed to send cancellation email: {}", e.getMessage());
         }
 
         return ResponseEntity.ok(Map.of(
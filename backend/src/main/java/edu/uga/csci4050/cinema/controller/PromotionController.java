@@ -2,16 +2,16 @@ package edu.uga.csci4050.cinema.controller;
 
 import edu.uga.csci4050.cinema.controller.dto.PromotionDtos.*;
 import edu.uga.csci4050.cinema.model.Promotion;
-import edu.uga.csci4050.cinema.model.User;
 import edu.uga.csci4050.cinema.repository.PromotionRepository;
-import edu.uga.csci4050.cinema.repository.UserRepository;
-import edu.uga.csci4050.cinema.service.MailService;
+import edu.uga.csci4050.cinema.service.PromotionCampaignService;
 import edu.uga.csci4050.cinema.util.DateTimeUtil;
 import edu.uga.csci4050.cinema.util.HttpUtils;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.mail.MailException;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
@@ -23,16 +23,15 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:3000")
 public class PromotionController {
 
+    private static final Logger log = LoggerFactory.getLogger(PromotionController.class);
+
     private final PromotionRepository promotions;
-    private final UserRepository users;
-    private final MailService mail;
+    private final PromotionCampaignService campaigns;
 
     public PromotionController(PromotionRepository promotions,
-            UserRepository users,
-            MailService mail) {
+            PromotionCampaignService campaigns) {
         this.promotions = promotions;
-        this.users = users;
-        this.mail = mail;
+        this.campaigns = campaigns;
     }
 
     @GetMapping
@@ -78,9 +77,11 @@ public class PromotionController {
      */
     @PostMapping
     public ResponseEntity<?> create(@RequestBody @Valid CreatePromotionRequest body) {
-        var auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
-        System.out.println("[PromotionController#create] auth=" + (auth == null ? "null" : auth.getName())
-                + ", authorities=" + (auth == null ? "null" : auth.getAuthorities()));
+        if (log.isDebugEnabled()) {
+            var auth = SecurityContextHolder.getContext().getAuthentication();
+            log.debug("Create promotion by {} with {}", auth == null ? null : auth.getName(),
+                    auth == null ? null : auth.getAuthorities());
+        }
         String code = body.code != null ? body.code.trim() : "";
         if (code.isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of("message", "Promo code is required"));
@@ -127,12 +128,15 @@ public class PromotionController {
 
     /**
      * Email the promotion to subscribed users only (promotionsOptIn = true).
+     * Sending runs in the background; poll /send/status for progress.
      */
     @PostMapping("/{promotionId}/send")
     public ResponseEntity<?> sendPromotion(@PathVariable String promotionId) {
-        var auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
-        System.out.println("[PromotionController#send] auth=" + (auth == null ? "null" : auth.getName())
-                + ", authorities=" + (auth == null ? "null" : auth.getAuthorities()));
+        if (log.isDebugEnabled()) {
+            var auth = SecurityContextHolder.getContext().getAuthentication();
+            log.debug("Send promotion {} by {} with {}", promotionId, auth == null ? null : auth.getName(),
+                    auth == null ? null : auth.getAuthorities());
+        }
         var promoOpt = promotions.findById(promotionId);
         var promo = promoOpt.orElse(null);
         if (promo == null) {
@@ -140,39 +144,14 @@ public class PromotionController {
                     .body(Map.of("message", "Promotion not found"));
         }
 
-        List<User> subscribed = users.findByPromotionsOptInTrue();
-        int sent = 0;
-
-        for (User u : subscribed) {
-            String email = u.getEmail();
-            if (email == null || email.isBlank())
-                continue;
-
-            String subject = "Cinema promotion: " + promo.getCode();
-            String body = buildEmailBody(u, promo);
-            try {
-                mail.send(email, subject, body);
-                sent++;
-            } catch (MailException ignored) {
-                // For the assignment, skip failures silently
-            }
-        }
-
-        return ResponseEntity.ok(Map.of(
-                "promotionId", promotionId,
-                "emailsSent", sent));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(campaigns.start(promo));
     }
 
-    private String buildEmailBody(User u, Promotion p) {
-        String name = (u.getName() != null && !u.getName().isBlank())
-                ? u.getName()
-                : "there";
-        return "Hi " + name + ",\n\n" +
-                "Here's a new promotion just for our subscribers!\n\n" +
-                "Promo code: " + p.getCode() + "\n" +
-                "Discount: " + p.getDiscountPercent() + "%\n" +
-                "Valid from " + DateTimeUtil.formatDate(p.getStartDate()) +
-                " to " + DateTimeUtil.formatDate(p.getEndDate()) + ".\n\n" +
-                "See you at the cinema!\n";
+    @GetMapping("/{promotionId}/send/status")
+    public ResponseEntity<?> sendStatus(@PathVariable String promotionId) {
+        return campaigns.status(promotionId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("message", "Promotion has not been sent")));
     }
 }
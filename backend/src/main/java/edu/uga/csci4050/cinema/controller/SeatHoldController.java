@@ -0,0 +1,48 @@
+package edu.uga.csci4050.cinema.controller;
+
+import edu.uga.csci4050.cinema.controller.dto.SeatHoldDtos.HoldRequest;
+import edu.uga.csci4050.cinema.model.SeatHold;
+import edu.uga.csci4050.cinema.service.SeatHoldService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Seat holds reserve seats for the duration of a checkout. The returned token
+ * is passed as holdToken on POST /api/bookings to convert the hold into a sale.
+ */
+@RestController
+@RequestMapping("/api/showtimes/{showtimeId}/holds")
+@CrossOrigin(origins = "http://localhost:3000")
+public class SeatHoldController {
+
+    private final SeatHoldService holds;
+
+    public SeatHoldController(SeatHoldService holds) {
+        this.holds = holds;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> hold(@PathVariable String showtimeId, @RequestBody @Valid HoldRequest body,
+            Authentication auth) {
+        SeatHold hold = holds.hold(showtimeId, body.seats, auth.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+                "token", hold.getToken(),
+                "showtimeId", hold.getShowtimeId(),
+                "seats", hold.getSeats(),
+                "expiresAt", hold.getExpiresAt()));
+    }
+
+    @DeleteMapping("/{token}")
+    public ResponseEntity<?> release(@PathVariable String showtimeId, @PathVariable String token,
+            Authentication auth) {
+        if (!holds.release(token, auth.getName())) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,8 +1,14 @@
 package edu.uga.csci4050.cinema.controller;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,7 +21,11 @@ import org.springframework.web.bind.annotation.RestController;
 
 import edu.uga.csci4050.cinema.model.Showroom;
 import edu.uga.csci4050.cinema.repository.ShowroomRepository;
+import edu.uga.csci4050.cinema.repository.ShowtimeRepository;
+import edu.uga.csci4050.cinema.service.ShowingsProjection;
+import edu.uga.csci4050.cinema.type.SeatMap;
 import edu.uga.csci4050.cinema.type.Showtime;
+import edu.uga.csci4050.cinema.util.DateTimeUtil;
 // import edu.uga.csci4050.cinema.util.HttpUtils;
 
 @RestController
@@ -25,28 +35,48 @@ public class ShowroomController {
     @Autowired
     ShowroomRepository showroomRepository;
 
+    @Autowired
+    ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    ShowingsProjection showings;
+
+    /**
+     * Every showroom with its showtimes from the start of today on. Past
+     * showtimes are left out so the payload does not grow with history; a
+     * single room's full list is at GET /api/showrooms/{id}/showtimes.
+     */
     @GetMapping
     public ResponseEntity<List<Showroom>> getAllShowrooms() {
         // Return 200 with [] when none exist to avoid client 404s
         List<Showroom> all = showroomRepository.findAll();
+        // Showtimes are stored separately; attach them for clients that read showroom.showtimes
+        Instant from = DateTimeUtil.fromLocalDate(DateTimeUtil.today());
+        Map<String, List<Showtime>> byRoom = showtimeRepository.findByStartGreaterThanEqualOrderByStartAsc(from)
+                .stream()
+                .filter(st -> st.roomId() != null)
+                .collect(Collectors.groupingBy(Showtime::roomId));
+        all.forEach(room -> room.setShowtimes(byRoom.getOrDefault(room.getId(), new ArrayList<>())));
         return ResponseEntity.ok(all);
     }
 
     @PostMapping
     public Showroom saveShowrooms(@RequestBody Showroom showroom) {
-        return showroomRepository.save(showroom);
+        Showroom saved = showroomRepository.save(showroom);
+        // The seat layout may have changed
+        showroomRepository.evictSeatMap(saved.getId());
+        if (showroom.getShowtimes() != null) {
+            showroom.getShowtimes().forEach(st -> newShowtime(saved, st));
+        }
+        return withShowtimes(saved);
     }
 
     @PostMapping("/{id}/showtimes")
     public ResponseEntity<Showroom> addShowtimeToShowroom(@PathVariable String id, @RequestBody Showtime showtime) {
         return showroomRepository.findById(id)
                 .map(showroom -> {
-                    // Initialize showtimes list if null to avoid NPE on first insert
-                    if (showroom.getShowtimes() == null) {
-                        showroom.setShowtimes(new java.util.ArrayList<>());
-                    }
-                    showroom.getShowtimes().add(showtime);
-                    return ResponseEntity.ok(showroomRepository.save(showroom));
+                    newShowtime(showroom, showtime);
+                    return ResponseEntity.ok(withShowtimes(showroom));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -59,16 +89,10 @@ public class ShowroomController {
             return ResponseEntity.notFound().build();
         }
 
-        Showroom showroom = maybe.get();
-        if (showroom.getShowtimes() == null) {
-            return ResponseEntity.notFound().build();
-        }
-        boolean removed = showroom.getShowtimes()
-                .removeIf(st -> String.valueOf(st.movieId()).equals(String.valueOf(showtime.movieId()))
-                        && st.start().equals(showtime.start()));
-
-        if (removed) {
-            return ResponseEntity.ok(showroomRepository.save(showroom));
+        long removed = showtimeRepository.deleteByRoomIdAndMovieIdAndStart(id, showtime.movieId(), showtime.start());
+        if (removed > 0) {
+            showings.showtimeRemoved(showtime.movieId(), showtime.start());
+            return ResponseEntity.ok(withShowtimes(maybe.get()));
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -78,7 +102,38 @@ public class ShowroomController {
     public ResponseEntity<Showroom> getShowroomById(@PathVariable String id) {
         // For individual showroom, still return 404 if not found (id-specific request)
         return showroomRepository.findById(id)
-                .map(ResponseEntity::ok)
+                .map(room -> ResponseEntity.ok(withShowtimes(room)))
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    /**
+     * Insert a showtime that is not stored yet. Showtimes echoed back from an
+     * earlier GET (known id, or same room, movie and start) are rejected by the
+     * _id and room_movie_start unique indexes and skipped, and seat state in
+     * the request body is ignored: a new showtime starts with no seats sold,
+     * and sales only ever change through bookings and returns.
+     */
+    private void newShowtime(Showroom showroom, Showtime showtime) {
+        // Give every new showtime a stable id so it can be addressed directly
+        String showtimeId = showtime.id() != null ? showtime.id() : UUID.randomUUID().toString();
+        // Showrooms with a layout track sold seats as a bitmap from the start
+        SeatMap seatMap = showroom.seatMap();
+        Showtime fresh = seatMap != null
+                ? new Showtime(showtimeId, showtime.movieId(), showtime.start(), null, showroom.getId(),
+                        seatMap.empty())
+                : new Showtime(showtimeId, showtime.movieId(), showtime.start(), new String[0], showroom.getId(),
+                        null);
+        try {
+            showtimeRepository.insert(fresh);
+        } catch (DuplicateKeyException e) {
+            // Already stored, by an earlier save or a concurrent request
+            return;
+        }
+        showings.showtimeAdded(fresh.movieId(), fresh.start());
+    }
+
+    private Showroom withShowtimes(Showroom showroom) {
+        showroom.setShowtimes(showtimeRepository.findByRoomIdOrderByStartAsc(showroom.getId()));
+        return showroom;
+    }
 }
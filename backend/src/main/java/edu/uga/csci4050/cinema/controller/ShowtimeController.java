@@ -0,0 +1,125 @@
+package edu.uga.csci4050.cinema.controller;
+
+import edu.uga.csci4050.cinema.repository.ShowroomRepository;
+import edu.uga.csci4050.cinema.repository.ShowtimeRepository;
+import edu.uga.csci4050.cinema.service.SeatEvents;
+import edu.uga.csci4050.cinema.service.SeatHoldService;
+import edu.uga.csci4050.cinema.type.SeatMap;
+import edu.uga.csci4050.cinema.type.Showtime;
+import edu.uga.csci4050.cinema.type.ShowtimeSummary;
+import edu.uga.csci4050.cinema.util.DateTimeUtil;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/showtimes")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ShowtimeController {
+
+    private final ShowtimeRepository showtimes;
+    private final ShowroomRepository showrooms;
+    private final SeatHoldService holds;
+    private final SeatEvents seatEvents;
+
+    public ShowtimeController(ShowtimeRepository showtimes, ShowroomRepository showrooms, SeatHoldService holds,
+            SeatEvents seatEvents) {
+        this.showtimes = showtimes;
+        this.showrooms = showrooms;
+        this.holds = holds;
+        this.seatEvents = seatEvents;
+    }
+
+    /**
+     * Showtimes on a calendar day (cinema time zone), without seat data.
+     */
+    @GetMapping
+    public ResponseEntity<List<ShowtimeSummary>> getShowtimesOnDate(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(showtimes.findSummaries(null, DateTimeUtil.fromLocalDate(date),
+                DateTimeUtil.fromLocalDate(date.plusDays(1))));
+    }
+
+    /**
+     * Sold-seat bitmap of a showtime with its layout. Bit (row * seatsPerRow +
+     * seat - 1) is set when the seat is sold; the bitmap is base64 of the
+     * little-endian 64-bit words.
+     */
+    @GetMapping(value = "/{id}/seatmap", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getSeatMap(@PathVariable String id) {
+        var st = showtimes.findById(id).orElse(null);
+        if (st == null) {
+            return ResponseEntity.notFound().build();
+        }
+        SeatMap seatMap = showrooms.findSeatMap(st.roomId()).orElse(null);
+        if (seatMap == null) {
+            return ResponseEntity.unprocessableEntity().body(Map.of("message", "Showroom has no seat layout"));
+        }
+        return ResponseEntity.ok(Map.of(
+                "showtimeId", id,
+                "rows", seatMap.getRows(),
+                "seatsPerRow", seatMap.getSeatsPerRow(),
+                "sold", Base64.getEncoder().encodeToString(SeatMap.toBytes(soldBitmap(st, seatMap)))));
+    }
+
+    /**
+     * Raw bitmap bytes for clients that decode it themselves.
+     */
+    @GetMapping(value = "/{id}/seatmap", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getSeatMapBytes(@PathVariable String id) {
+        var st = showtimes.findById(id).orElse(null);
+        if (st == null) {
+            return ResponseEntity.notFound().build();
+        }
+        SeatMap seatMap = showrooms.findSeatMap(st.roomId()).orElse(null);
+        if (seatMap == null) {
+            return ResponseEntity.unprocessableEntity().build();
+        }
+        return ResponseEntity.ok()
+                .header("X-Seat-Rows", String.valueOf(seatMap.getRows()))
+                .header("X-Seats-Per-Row", String.valueOf(seatMap.getSeatsPerRow()))
+                .body(SeatMap.toBytes(soldBitmap(st, seatMap)));
+    }
+
+    /**
+     * Live seat availability as Server-Sent Events. The first event,
+     * "snapshot", lists the sold and held seats. It is followed by "sold",
+     * "held" and "released" events, each carrying the affected seats.
+     */
+    @GetMapping(value = "/{id}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamSeats(@PathVariable String id) {
+        if (!showtimes.existsById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Showtime not found");
+        }
+        return seatEvents.stream(id, () -> {
+            Showtime st = showtimes.findById(id).orElse(null);
+            return Map.of("sold", st == null ? List.of() : soldLabels(st), "held", holds.heldSeats(id));
+        });
+    }
+
+    private List<String> soldLabels(Showtime st) {
+        SeatMap seatMap = st.soldSeats() != null ? showrooms.findSeatMap(st.roomId()).orElse(null) : null;
+        if (seatMap != null) {
+            return seatMap.labels(st.soldSeats());
+        }
+        return st.bookedSeats() != null ? List.of(st.bookedSeats()) : List.of();
+    }
+
+    private long[] soldBitmap(Showtime st, SeatMap seatMap) {
+        if (st.soldSeats() != null) {
+            return st.soldSeats();
+        }
+        // Not migrated yet: derive from the label list
+        return seatMap.maskIgnoringUnknown(st.bookedSeats() != null ? List.of(st.bookedSeats()) : List.of());
+    }
+}
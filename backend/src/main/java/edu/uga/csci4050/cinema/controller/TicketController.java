@@ -14,7 +14,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import edu.uga.csci4050.cinema.controller.dto.TicketInfoDtos.UpdateTicketRequest;
 import edu.uga.csci4050.cinema.model.TicketInfo;
-import edu.uga.csci4050.cinema.repository.TicketRepository;
+import edu.uga.csci4050.cinema.service.PriceTable;
 import edu.uga.csci4050.cinema.util.HttpUtils;
 import jakarta.validation.Valid;
 
@@ -23,11 +23,11 @@ import jakarta.validation.Valid;
 @CrossOrigin(origins = "http://localhost:3000")
 public class TicketController {
     @Autowired
-    TicketRepository ticketRepo;
+    PriceTable priceTable;
 
     @GetMapping("/prices")
     public ResponseEntity<List<TicketInfo>> getTicketPrices() {
-        List<TicketInfo> info = ticketRepo.findAll();
+        List<TicketInfo> info = priceTable.rows();
 
         return HttpUtils.buildResponseEntity(info, "No ticket prices in database!");
     }
@@ -35,16 +35,10 @@ public class TicketController {
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/prices/{id}")
     public ResponseEntity<Void> updateTicketPrice(@RequestBody @Valid UpdateTicketRequest body) {
-        var ticket = ticketRepo.findByType(body.type).orElse(null);
-        if (ticket == null) {
+        if (priceTable.update(body.type, body.price).isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        if (Double.compare(body.price, ticket.getPrice()) != 0) {
-            ticket.setPrice(body.price);
-            ticketRepo.save(ticket);
-        }
-
         return ResponseEntity.ok().build();
     }
 }
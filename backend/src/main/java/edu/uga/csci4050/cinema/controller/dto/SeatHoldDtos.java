@@ -0,0 +1,11 @@
+package edu.uga.csci4050.cinema.controller.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class SeatHoldDtos {
+    public static class HoldRequest {
+        @NotEmpty
+        public List<String> seats;
+    }
+}
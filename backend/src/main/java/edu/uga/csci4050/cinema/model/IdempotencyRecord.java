@@ -0,0 +1,101 @@
+package edu.uga.csci4050.cinema.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a request sent with an Idempotency-Key, so a retry can be
+ * answered without running it again. Until the first attempt finishes the
+ * record is incomplete and retries are turned away, unless lockedUntil has
+ * passed and a retry takes it over. Mongo's TTL monitor removes it once
+ * expiresAt passes.
+ */
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+
+    // SHA-256 of the user's email and the key, so keys are scoped per user
+    @Id
+    private String id;
+
+    // SHA-256 of the request body; a key reused for a different request is rejected
+    private String requestHash;
+
+    private boolean completed;
+    private int status;
+    private String body;
+
+    private Instant createdAt = Instant.now();
+
+    // Lease of the request running under the key; unset once it completes
+    private Instant lockedUntil;
+
+    @Indexed(expireAfter = "0s")
+    private Instant expiresAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(Instant lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -3,20 +3,42 @@ package edu.uga.csci4050.cinema.model;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import edu.uga.csci4050.cinema.type.SeatMap;
 import edu.uga.csci4050.cinema.type.Showtime;
 
+/**
+ * Showroom and its seat layout. Showtimes live in their own collection;
+ * the showtimes list is only filled in for API responses.
+ */
 @Document(collection = "showrooms")
 public class Showroom {
     @Id
     private String id;
 
+    // Seat layout; 0 means the showroom has no layout and seats are tracked by label only
+    private int rows;
+    private int seatsPerRow;
+
+    @Transient
     private List<Showtime> showtimes;
 
     public String getId() {return id;}
     public void setId(String id) {this.id = id;}
 
+    public int getRows() {return rows;}
+    public void setRows(int rows) {this.rows = rows;}
+
+    public int getSeatsPerRow() {return seatsPerRow;}
+    public void setSeatsPerRow(int seatsPerRow) {this.seatsPerRow = seatsPerRow;}
+
     public List<Showtime> getShowtimes() {return this.showtimes;}
     public void setShowtimes(List<Showtime> showtimes) {this.showtimes = showtimes;}
+
+    /** The seat layout, or null if none is configured. */
+    public SeatMap seatMap() {
+        return rows > 0 && seatsPerRow > 0 ? new SeatMap(rows, seatsPerRow) : null;
+    }
 }
@@ -1,18 +1,33 @@
 package edu.uga.csci4050.cinema.model;
 
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Embedded ticket record stored on the User document for each confirmed
- * booking.
+ * Ticket record stored for each confirmed booking, one document per ticket.
+ * History is read per user newest first; returns look tickets up by
+ * showtime.
  */
+@Document("tickets")
+@CompoundIndexes({
+    @CompoundIndex(name = "user_created_id", def = "{'userEmail': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "showroom_showtime", def = "{'showroomId': 1, 'showtime': 1}")
+})
 public class TicketRecord {
 
+  @Id
   private String ticketNumber;
+  private String userEmail;
   private String movieId;
   private String movieTitle;
+  // Showtime the seats were sold on; null on tickets booked before it was recorded
+  private String showtimeId;
   private String showroomId;
   private Instant showtime;
   private List<String> seats;
@@ -29,6 +44,14 @@ public class TicketRecord {
     this.ticketNumber = ticketNumber;
   }
 
+  public String getUserEmail() {
+    return userEmail;
+  }
+
+  public void setUserEmail(String userEmail) {
+    this.userEmail = userEmail;
+  }
+
   public String getMovieId() {
     return movieId;
   }
@@ -45,6 +68,14 @@ public class TicketRecord {
     this.movieTitle = movieTitle;
   }
 
+  public String getShowtimeId() {
+    return showtimeId;
+  }
+
+  public void setShowtimeId(String showtimeId) {
+    this.showtimeId = showtimeId;
+  }
+
   public String getShowroomId() {
     return showroomId;
   }
@@ -51,9 +51,6 @@ public class User {
     // Up to 4 cards
     private List<PaymentCard> paymentCards = new ArrayList<>();
 
-    // Per-user ticket history (embedded documents)
-    private List<TicketRecord> tickets = new ArrayList<>();
-
     // ===== Getters/Setters =====
     public String getId() {
         return id;
@@ -183,14 +180,6 @@ public class User {
         this.paymentCards = paymentCards;
     }
 
-    public List<TicketRecord> getTickets() {
-        return tickets;
-    }
-
-    public void setTickets(List<TicketRecord> tickets) {
-        this.tickets = tickets;
-    }
-
     // ===== Nested types with getters/setters =====
     public static class Address {
         private String line1;
@@ -0,0 +1,9 @@
+package edu.uga.csci4050.cinema.repository;
+
+import edu.uga.csci4050.cinema.model.OutboxMail;
+import edu.uga.csci4050.cinema.type.OutboxStatus;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface MailOutboxRepository extends MongoRepository<OutboxMail, String> {
+    long countByStatus(OutboxStatus status);
+}
@@ -0,0 +1,20 @@
+package edu.uga.csci4050.cinema.repository;
+
+import edu.uga.csci4050.cinema.model.MovieItem;
+import edu.uga.csci4050.cinema.type.MovieSummary;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+/**
+ * Non-blocking movie reads for the streaming catalog. Writes stay on
+ * MovieRepository.
+ */
+public interface ReactiveMovieRepository extends ReactiveMongoRepository<MovieItem, String> {
+    // The DTO projection only fetches the summary fields
+    Flux<MovieSummary> findSummariesBy(Sort sort);
+
+    Flux<MovieSummary> findSummariesByIdIn(Collection<String> ids);
+}
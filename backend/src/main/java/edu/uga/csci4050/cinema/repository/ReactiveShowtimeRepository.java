@@ -0,0 +1,21 @@
+package edu.uga.csci4050.cinema.repository;
+
+import edu.uga.csci4050.cinema.type.Showtime;
+import edu.uga.csci4050.cinema.type.ShowtimeSummary;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+/**
+ * Non-blocking showtime reads for the streaming catalog. Bookings and other
+ * writes stay on ShowtimeRepository.
+ */
+public interface ReactiveShowtimeRepository extends ReactiveMongoRepository<Showtime, String> {
+    // Unbounded ends of the range add no condition on start
+    Flux<ShowtimeSummary> findByMovieIdAndStartBetween(String movieId, Range<Instant> start, Sort sort);
+
+    Flux<ShowtimeSummary> findByRoomIdOrderByStartAsc(String roomId);
+}
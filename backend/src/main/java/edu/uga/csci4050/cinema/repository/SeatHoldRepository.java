@@ -0,0 +1,11 @@
+package edu.uga.csci4050.cinema.repository;
+
+import edu.uga.csci4050.cinema.model.SeatHold;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface SeatHoldRepository extends MongoRepository<SeatHold, String> {
+    List<SeatHold> findByExpiresAtAfter(Instant now);
+}
@@ -3,6 +3,7 @@ package edu.uga.csci4050.cinema.repository;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import edu.uga.csci4050.cinema.model.Showroom;
+import edu.uga.csci4050.cinema.repository.custom.CustomShowroomRepository;
 
-public interface ShowroomRepository extends MongoRepository<Showroom, String>{
+public interface ShowroomRepository extends MongoRepository<Showroom, String>, CustomShowroomRepository {
 }
@@ -0,0 +1,26 @@
+package edu.uga.csci4050.cinema.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import edu.uga.csci4050.cinema.repository.custom.CustomShowtimeRepository;
+import edu.uga.csci4050.cinema.type.Showtime;
+import edu.uga.csci4050.cinema.type.ShowtimeSummary;
+
+public interface ShowtimeRepository extends MongoRepository<Showtime, String>, CustomShowtimeRepository {
+    Optional<Showtime> findFirstByRoomIdAndMovieIdAndStart(String roomId, String movieId, Instant start);
+
+    // DTO projection: only the id and identity fields, no seat data
+    Optional<ShowtimeSummary> findSummaryByRoomIdAndMovieIdAndStart(String roomId, String movieId, Instant start);
+
+    boolean existsByRoomIdAndMovieIdAndStart(String roomId, String movieId, Instant start);
+
+    List<Showtime> findByRoomIdOrderByStartAsc(String roomId);
+
+    List<Showtime> findByStartGreaterThanEqualOrderByStartAsc(Instant from);
+
+    long deleteByRoomIdAndMovieIdAndStart(String roomId, String movieId, Instant start);
+}
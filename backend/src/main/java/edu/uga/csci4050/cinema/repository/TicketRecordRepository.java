@@ -0,0 +1,14 @@
+package edu.uga.csci4050.cinema.repository;
+
+import edu.uga.csci4050.cinema.model.TicketRecord;
+import edu.uga.csci4050.cinema.repository.custom.CustomTicketRecordRepository;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Optional;
+
+public interface TicketRecordRepository extends MongoRepository<TicketRecord, String>, CustomTicketRecordRepository {
+    Optional<TicketRecord> findByTicketNumberAndUserEmail(String ticketNumber, String userEmail);
+
+    /** Single remove by (id, owner); the count says whether this call deleted it. */
+    long deleteByTicketNumberAndUserEmail(String ticketNumber, String userEmail);
+}
@@ -1,17 +1,28 @@
 package edu.uga.csci4050.cinema.repository;
 
 import edu.uga.csci4050.cinema.model.User;
+import edu.uga.csci4050.cinema.type.Subscriber;
+import edu.uga.csci4050.cinema.type.UserPrincipalView;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
+
+    // Identity fields only; see UserPrincipalCache
+    Optional<UserPrincipalView> findPrincipalByEmail(String email);
     boolean existsByEmail(String email);
     Optional<User> findByEmailVerifyTokenHash(String tokenHash);
     Optional<User> findByResetTokenHash(String tokenHash);
 
     //user for promotions, but only for users that opted in.
     List<User> findByPromotionsOptInTrue();
+
+    // Streams email and name only; the caller must close the stream
+    Stream<Subscriber> streamByPromotionsOptInTrue();
+
+    long countByPromotionsOptInTrue();
 }
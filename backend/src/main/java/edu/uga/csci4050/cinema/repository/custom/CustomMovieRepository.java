@@ -1,9 +1,20 @@
 package edu.uga.csci4050.cinema.repository.custom;
 
 import edu.uga.csci4050.cinema.model.MovieItem;
+import edu.uga.csci4050.cinema.type.MovieSummary;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CustomMovieRepository {
     List<MovieItem> searchMovies(String title, List<String> genres);
+
+    /**
+     * Up to limit movies with _id greater than after (null for the first page),
+     * in _id order. Only the given fields are loaded when fields is not empty.
+     */
+    List<MovieItem> findPage(String after, int limit, Collection<String> fields);
+
+    /** Same keyset page as findPage, loading only the summary fields. */
+    List<MovieSummary> findSummaryPage(String after, int limit);
 }
@@ -1,38 +1,54 @@
 package edu.uga.csci4050.cinema.repository.custom;
 
 import edu.uga.csci4050.cinema.model.MovieItem;
+import edu.uga.csci4050.cinema.service.MovieSearchIndex;
+import edu.uga.csci4050.cinema.type.MovieSummary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
+/**
+ * Title/genre search is answered from the in-memory MovieSearchIndex; a
+ * substring regex cannot use a Mongo index and would scan the collection.
+ * Unfiltered listings page through the collection by _id.
+ */
 public class CustomMovieRepositoryImpl implements CustomMovieRepository {
+    @Autowired
+    private MovieSearchIndex searchIndex;
+
     @Autowired
     private MongoTemplate mongoTemplate;
 
     @Override
     public List<MovieItem> searchMovies(String title, List<String> genres) {
-        Query query = new Query();
+        return searchIndex.search(title, genres);
+    }
 
-        if (title != null && !title.isBlank()) {
-            String regex = ".*" + Pattern.quote(title.trim()) + ".*";
-            Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
-            Criteria compareTitleInsensitive = Criteria.where("title").regex(pattern);
-            query.addCriteria(compareTitleInsensitive);
+    @Override
+    public List<MovieItem> findPage(String after, int limit, Collection<String> fields) {
+        Query query = pageQuery(after, limit);
+        if (fields != null) {
+            fields.forEach(f -> query.fields().include(f));
         }
+        return mongoTemplate.find(query, MovieItem.class);
+    }
 
-        if (genres != null && !genres.isEmpty()) {
-            List<Pattern> regexGenres = genres.stream()
-                    .map(g -> Pattern.compile("^" + Pattern.quote(g.strip()) + "$", Pattern.CASE_INSENSITIVE))
-                    .collect(Collectors.toList());
-            Criteria containsGenres = Criteria.where("genres").in(regexGenres);
-            query.addCriteria(containsGenres);
-        }
+    @Override
+    public List<MovieSummary> findSummaryPage(String after, int limit) {
+        // The DTO projection only fetches the summary fields
+        return mongoTemplate.query(MovieItem.class).as(MovieSummary.class).matching(pageQuery(after, limit)).all();
+    }
 
-        return mongoTemplate.find(query, MovieItem.class);
+    private static Query pageQuery(String after, int limit) {
+        Query query = new Query().with(Sort.by("_id")).limit(limit);
+        if (after != null && !after.isBlank()) {
+            query.addCriteria(Criteria.where("_id").gt(after));
+        }
+        return query;
     }
 }
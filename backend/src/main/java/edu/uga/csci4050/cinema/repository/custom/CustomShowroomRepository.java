@@ -0,0 +1,15 @@
+package edu.uga.csci4050.cinema.repository.custom;
+
+import edu.uga.csci4050.cinema.type.SeatMap;
+
+import java.util.Optional;
+
+public interface CustomShowroomRepository {
+    /**
+     * Seat layout of a showroom, cached per room since it practically never
+     * changes. Empty if the showroom has no layout or does not exist.
+     */
+    Optional<SeatMap> findSeatMap(String roomId);
+
+    void evictSeatMap(String roomId);
+}
@@ -0,0 +1,46 @@
+package edu.uga.csci4050.cinema.repository.custom;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.uga.csci4050.cinema.model.Showroom;
+import edu.uga.csci4050.cinema.type.SeatMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public class CustomShowroomRepositoryImpl implements CustomShowroomRepository {
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Bounded and expiring: room ids come from request bodies, and other nodes may change a layout
+    private final Cache<String, Optional<SeatMap>> seatMaps = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    @Override
+    public Optional<SeatMap> findSeatMap(String roomId) {
+        if (roomId == null) {
+            return Optional.empty();
+        }
+        // A room without a layout is cached as empty; an unknown room is not cached at all
+        Optional<SeatMap> seatMap = seatMaps.get(roomId, id -> {
+            Query query = new Query(Criteria.where("_id").is(id));
+            query.fields().include("rows").include("seatsPerRow");
+            Showroom room = mongoTemplate.findOne(query, Showroom.class);
+            return room == null ? null : Optional.ofNullable(room.seatMap());
+        });
+        return seatMap != null ? seatMap : Optional.empty();
+    }
+
+    @Override
+    public void evictSeatMap(String roomId) {
+        if (roomId != null) {
+            seatMaps.invalidate(roomId);
+        }
+    }
+}
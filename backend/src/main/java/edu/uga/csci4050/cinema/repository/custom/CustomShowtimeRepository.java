@@ -0,0 +1,32 @@
+package edu.uga.csci4050.cinema.repository.custom;
+
+import edu.uga.csci4050.cinema.type.Showtime;
+import edu.uga.csci4050.cinema.type.ShowtimeSummary;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CustomShowtimeRepository {
+    /**
+     * Atomically add seats to the showtime with this id in this room, but only
+     * if none of them are already booked. Returns the updated showtime, or
+     * empty if the guard failed or no such showtime exists.
+     *
+     * @throws IllegalArgumentException if a seat is not on the showroom's layout
+     */
+    Optional<Showtime> reserveSeats(String showtimeId, String roomId, Collection<String> seats);
+
+    /**
+     * Atomically remove seats from the booked seats of the showtime with this
+     * id in this room.
+     */
+    boolean releaseSeats(String showtimeId, String roomId, Collection<String> seats);
+
+    /**
+     * Showtimes starting in [from, to), ordered by start, without seat data.
+     * A null movieId matches every movie; null bounds are open.
+     */
+    List<ShowtimeSummary> findSummaries(String movieId, Instant from, Instant to);
+}
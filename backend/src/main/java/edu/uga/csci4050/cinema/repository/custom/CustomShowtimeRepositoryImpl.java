@@ -0,0 +1,128 @@
+package edu.uga.csci4050.cinema.repository.custom;
+
+import edu.uga.csci4050.cinema.repository.ShowroomRepository;
+import edu.uga.csci4050.cinema.type.SeatMap;
+import edu.uga.csci4050.cinema.type.Showtime;
+import edu.uga.csci4050.cinema.type.ShowtimeSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Seat updates are issued as single conditional updates against the showtime
+ * document, so concurrent bookings never overwrite each other and the
+ * database decides who wins a seat. Showtimes are matched by _id, which the
+ * caller resolved beforehand, so the guard and the write always hit the same
+ * document; roomId is matched too so the seat layout used belongs to it.
+ *
+ * When the showroom has a seat layout the guard and the write work only on
+ * the soldSeats bitmap ($bitsAllClear / $bit); bookedSeats is not touched, so
+ * documents stay the same size as seats sell. Showtimes without a bitmap (no
+ * layout, or not yet migrated) fall back to the label guard on bookedSeats.
+ */
+public class CustomShowtimeRepositoryImpl implements CustomShowtimeRepository {
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ShowroomRepository showroomRepository;
+
+    @Override
+    public Optional<Showtime> reserveSeats(String showtimeId, String roomId, Collection<String> seats) {
+        SeatMap seatMap = showroomRepository.findSeatMap(roomId).orElse(null);
+        if (seatMap != null) {
+            // Throws for a seat that is not in the room; it can never be sold
+            long[] mask = seatMap.mask(seats);
+            if (seats.isEmpty()) {
+                return Optional.ofNullable(mongoTemplate.findOne(new Query(identity(showtimeId, roomId)),
+                        Showtime.class));
+            }
+
+            Criteria guard = identity(showtimeId, roomId).and("soldSeats").exists(true);
+            Update update = new Update();
+            for (int i = 0; i < mask.length; i++) {
+                if (mask[i] != 0) {
+                    guard = guard.and("soldSeats." + i).bits().allClear(SeatMap.positions(mask[i]));
+                    update.bitwise("soldSeats." + i).or(mask[i]);
+                }
+            }
+            Showtime updated = mongoTemplate.findAndModify(new Query(guard), update,
+                    FindAndModifyOptions.options().returnNew(true), Showtime.class);
+            if (updated != null) {
+                return Optional.of(updated);
+            }
+            // A conflict on a migrated showtime ends here with a read, not a second findAndModify
+            Query unmigrated = new Query(identity(showtimeId, roomId).and("soldSeats").exists(false));
+            if (!mongoTemplate.exists(unmigrated, Showtime.class)) {
+                return Optional.empty();
+            }
+        }
+
+        // Label guard: rejects the update if any requested seat is already present
+        Criteria guard = identity(showtimeId, roomId).and("bookedSeats").nin(seats);
+        if (seatMap != null) {
+            guard = guard.and("soldSeats").exists(false);
+        }
+        Update update = new Update().addToSet("bookedSeats").each(seats.toArray());
+
+        Showtime updated = mongoTemplate.findAndModify(new Query(guard), update,
+                FindAndModifyOptions.options().returnNew(true), Showtime.class);
+        return Optional.ofNullable(updated);
+    }
+
+    @Override
+    public boolean releaseSeats(String showtimeId, String roomId, Collection<String> seats) {
+        SeatMap seatMap = showroomRepository.findSeatMap(roomId).orElse(null);
+        if (seatMap != null) {
+            long[] mask = seatMap.maskIgnoringUnknown(seats);
+            // Also drops labels left over from showtimes written before labels stopped being kept
+            Update update = new Update().pullAll("bookedSeats", seats.toArray());
+            for (int i = 0; i < mask.length; i++) {
+                if (mask[i] != 0) {
+                    update.bitwise("soldSeats." + i).and(~mask[i]);
+                }
+            }
+            Query query = new Query(identity(showtimeId, roomId).and("soldSeats").exists(true));
+            if (mongoTemplate.updateFirst(query, update, Showtime.class).getMatchedCount() > 0) {
+                return true;
+            }
+        }
+
+        Update update = new Update().pullAll("bookedSeats", seats.toArray());
+        return mongoTemplate.updateFirst(new Query(identity(showtimeId, roomId)), update, Showtime.class)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public List<ShowtimeSummary> findSummaries(String movieId, Instant from, Instant to) {
+        Query query = new Query().with(Sort.by("start"));
+        if (movieId != null) {
+            query.addCriteria(Criteria.where("movieId").is(movieId));
+        }
+        if (from != null || to != null) {
+            Criteria start = Criteria.where("start");
+            if (from != null) {
+                start.gte(from);
+            }
+            if (to != null) {
+                start.lt(to);
+            }
+            query.addCriteria(start);
+        }
+        // The DTO projection only fetches id, movieId, roomId and start
+        return mongoTemplate.query(Showtime.class).as(ShowtimeSummary.class).matching(query).all();
+    }
+
+    private static Criteria identity(String showtimeId, String roomId) {
+        return Criteria.where("_id").is(showtimeId).and("roomId").is(roomId);
+    }
+}
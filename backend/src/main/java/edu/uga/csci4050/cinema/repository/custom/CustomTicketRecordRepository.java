@@ -0,0 +1,15 @@
+package edu.uga.csci4050.cinema.repository.custom;
+
+import edu.uga.csci4050.cinema.model.TicketRecord;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface CustomTicketRecordRepository {
+    /**
+     * Up to limit tickets of a user, newest first with ticket number breaking
+     * ties, that sort after (createdAt, ticketNumber). A null createdAt starts
+     * at the newest ticket.
+     */
+    List<TicketRecord> findHistoryPage(String userEmail, Instant createdAt, String ticketNumber, int limit);
+}
@@ -0,0 +1,31 @@
+package edu.uga.csci4050.cinema.repository.custom;
+
+import edu.uga.csci4050.cinema.model.TicketRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+public class CustomTicketRecordRepositoryImpl implements CustomTicketRecordRepository {
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<TicketRecord> findHistoryPage(String userEmail, Instant createdAt, String ticketNumber, int limit) {
+        Criteria criteria = Criteria.where("userEmail").is(userEmail);
+        if (createdAt != null) {
+            // Tickets bought in the same instant are told apart by number, so none is skipped
+            criteria.orOperator(
+                    Criteria.where("createdAt").lt(createdAt),
+                    Criteria.where("createdAt").is(createdAt).and("_id").lt(ticketNumber));
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+                .limit(limit);
+        return mongoTemplate.find(query, TicketRecord.class);
+    }
+}
@@ -0,0 +1,86 @@
+package edu.uga.csci4050.cinema.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Per-node rate limit counters.
+ *
+ * One small counter per bucket and key in a Caffeine cache bounded by
+ * maxKeys, so a flood of distinct IPs or emails cannot grow it without limit.
+ * Keys that are hit often survive eviction; a rarely seen key may lose its
+ * count. Counters are updated inside compute, so each update is atomic with
+ * respect to sweep.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, Counter> counters;
+
+    public InMemoryRateLimitStore(long maxKeys) {
+        this.counters = Caffeine.newBuilder().maximumSize(maxKeys).build();
+    }
+
+    @Override
+    public boolean tryAcquire(String bucket, String key, int limit, Duration window, Instant now) {
+        long windowMillis = window.toMillis();
+        long nowMillis = now.toEpochMilli();
+        boolean[] allowed = new boolean[1];
+        counters.asMap().compute(bucket + "|" + key, (k, counter) -> {
+            Counter c = counter != null ? counter : new Counter(windowMillis);
+            allowed[0] = c.tryAcquire(limit, nowMillis);
+            return c;
+        });
+        return allowed[0];
+    }
+
+    @Override
+    public void sweep(Instant now) {
+        long nowMillis = now.toEpochMilli();
+        for (String key : List.copyOf(counters.asMap().keySet())) {
+            counters.asMap().computeIfPresent(key, (k, c) -> c.idle(nowMillis) ? null : c);
+        }
+    }
+
+    /** Number of live counters, for tests. */
+    long size() {
+        counters.cleanUp();
+        return counters.estimatedSize();
+    }
+
+    /** Previous and current fixed-window counts; only touched inside compute. */
+    private static final class Counter {
+        private final long windowMillis;
+        private long window;
+        private int previous;
+        private int current;
+
+        Counter(long windowMillis) {
+            this.windowMillis = windowMillis;
+            this.window = Long.MIN_VALUE;
+        }
+
+        boolean tryAcquire(int limit, long nowMillis) {
+            long index = nowMillis / windowMillis;
+            if (window != index) {
+                // Roll forward; anything older than the last window no longer counts
+                previous = window == index - 1 ? current : 0;
+                current = 0;
+                window = index;
+            }
+            if (RateLimitStore.estimate(previous, current, windowMillis, nowMillis) + 1 > limit) {
+                return false;
+            }
+            current++;
+            return true;
+        }
+
+        /** Whether this counter can no longer count as the previous window. */
+        boolean idle(long nowMillis) {
+            return window < nowMillis / windowMillis - 1;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package edu.uga.csci4050.cinema.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import edu.uga.csci4050.cinema.util.TokenUtil;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
@@ -17,13 +22,25 @@ public class JwtService {
     private final long ttlSeconds;
     private final long rememberTtlSeconds;
 
+    // Built once; JwtParser is immutable and thread-safe
+    private final JwtParser parser;
+
+    // Verified tokens keyed by their SHA-256, each dropped at its own exp
+    private final Cache<String, Jws<Claims>> verified;
+
     public JwtService(
             @Value("${app.jwt.secret}") String secret,
             @Value("${app.jwt.ttl-seconds}") long ttlSeconds,
-            @Value("${app.jwt.rememberme-ttl-seconds}") long rememberTtlSeconds) {
+            @Value("${app.jwt.rememberme-ttl-seconds}") long rememberTtlSeconds,
+            @Value("${app.jwt.verified-cache-size:10000}") long verifiedCacheSize) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.ttlSeconds = ttlSeconds;
         this.rememberTtlSeconds = rememberTtlSeconds;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new UntilExpiration())
+                .build();
     }
 
     public String issue(String subject, boolean remember, Map<String, Object> claims) {
@@ -38,7 +55,47 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Verify a token and return its claims. A token seen before is answered
+     * from the cache until its exp; invalid tokens are never cached.
+     */
     public Jws<Claims> parse(String jwt) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt);
+        String hash = TokenUtil.sha256(jwt);
+        Jws<Claims> jws = verified.getIfPresent(hash);
+        if (jws != null && !isExpired(jws.getBody())) {
+            return jws;
+        }
+        jws = parser.parseClaimsJws(jwt);
+        verified.put(hash, jws);
+        return jws;
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date exp = claims.getExpiration();
+        return exp != null && !exp.toInstant().isAfter(Instant.now());
+    }
+
+    /** Keep an entry until the token's exp, or an hour for tokens without one. */
+    private static class UntilExpiration implements Expiry<String, Jws<Claims>> {
+        private static final long NO_EXP_NANOS = Duration.ofHours(1).toNanos();
+
+        @Override
+        public long expireAfterCreate(String key, Jws<Claims> jws, long currentTime) {
+            Date exp = jws.getBody().getExpiration();
+            if (exp == null) {
+                return NO_EXP_NANOS;
+            }
+            return Math.max(0, Duration.between(Instant.now(), exp.toInstant()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jws<Claims> jws, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jws, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jws<Claims> jws, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
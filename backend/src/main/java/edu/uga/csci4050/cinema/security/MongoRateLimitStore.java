@@ -0,0 +1,65 @@
+package edu.uga.csci4050.cinema.security;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Rate limit counters shared by every node through the rate_limits
+ * collection.
+ *
+ * There is one document per bucket, key and fixed window. Its count is
+ * incremented atomically and backed out again if the request turns out to be
+ * over the limit. Mongo's TTL monitor removes a window once it can no longer
+ * count as the previous one, so sweep has nothing to do.
+ */
+public class MongoRateLimitStore implements RateLimitStore {
+
+    static final String COLLECTION = "rate_limits";
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoRateLimitStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        mongoTemplate.indexOps(COLLECTION).createIndex(
+                new Index().on("expireAt", Sort.Direction.ASC).expire(Duration.ZERO));
+    }
+
+    @Override
+    public boolean tryAcquire(String bucket, String key, int limit, Duration window, Instant now) {
+        long windowMillis = window.toMillis();
+        long index = now.toEpochMilli() / windowMillis;
+        String id = bucket + "|" + key + "|";
+
+        Document previous = mongoTemplate.findById(id + (index - 1), Document.class, COLLECTION);
+        long previousCount = previous == null ? 0 : previous.get("count", Number.class).longValue();
+
+        Query current = new Query(Criteria.where("_id").is(id + index));
+        Update increment = new Update().inc("count", 1)
+                .setOnInsert("expireAt", new Date((index + 2) * windowMillis));
+        Document counted = mongoTemplate.findAndModify(current, increment,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, COLLECTION);
+        long currentCount = counted == null ? 1 : counted.get("count", Number.class).longValue();
+
+        // The estimate includes this request already
+        if (RateLimitStore.estimate(previousCount, currentCount, windowMillis, now.toEpochMilli()) > limit) {
+            mongoTemplate.updateFirst(current, new Update().inc("count", -1), COLLECTION);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void sweep(Instant now) {
+        // Expired windows are removed by the TTL index
+    }
+}
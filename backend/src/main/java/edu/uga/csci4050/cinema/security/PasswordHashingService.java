@@ -0,0 +1,119 @@
+package edu.uga.csci4050.cinema.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on its own small, bounded pool.
+ *
+ * BCrypt is deliberately slow, so a burst of logins would otherwise tie up
+ * every web worker. When the pool and its queue are full the request is shed
+ * with 429 instead of waiting. Hashes below the configured cost are
+ * re-encoded after a successful match.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(PasswordEncoder encoder, ObjectProvider<MeterRegistry> registryProvider,
+            @Value("${app.security.hashing.threads:0}") int threads,
+            @Value("${app.security.hashing.queue-capacity:32}") int queueCapacity) {
+        this.encoder = encoder;
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "password-hashing-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        MeterRegistry registry = registryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        Gauge.builder("password.hashing.queue", pool, p -> p.getQueue().size())
+                .description("Password hashing tasks waiting for a thread").register(registry);
+        Gauge.builder("password.hashing.active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks running").register(registry);
+        // Measured from submission, so queue wait is included
+        this.encodeTimer = Timer.builder("password.hashing").tag("op", "encode").register(registry);
+        this.matchTimer = Timer.builder("password.hashing").tag("op", "matches").register(registry);
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Hashing requests shed because the pool was saturated").register(registry);
+    }
+
+    public String encode(CharSequence raw) {
+        return run(encodeTimer, () -> encoder.encode(raw));
+    }
+
+    public boolean matches(CharSequence raw, String hash) {
+        if (hash == null) {
+            return false;
+        }
+        return run(matchTimer, () -> encoder.matches(raw, hash));
+    }
+
+    /**
+     * A fresh hash at the current cost if {@code hash} was made with a lower
+     * one. Call only after {@code raw} has matched.
+     */
+    public Optional<String> upgrade(CharSequence raw, String hash) {
+        if (hash == null || !encoder.upgradeEncoding(hash)) {
+            return Optional.empty();
+        }
+        return Optional.of(encode(raw));
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        long started = System.nanoTime();
+        Future<T> future;
+        try {
+            future = pool.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many sign-in attempts, try again");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
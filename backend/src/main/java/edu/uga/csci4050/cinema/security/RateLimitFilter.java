@@ -0,0 +1,145 @@
+package edu.uga.csci4050.cinema.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Rejects requests to rate-limited endpoints with 429 before any
+ * authentication work is done. The email key is read from the JSON body,
+ * which is buffered so the controller can still read it. Bodies over
+ * MAX_BODY_BYTES are rejected with 413 rather than buffered.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Auth request bodies are tiny; anything larger is refused
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final RateLimiter limiter;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RateLimitFilter(RateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest req, @NonNull HttpServletResponse res,
+            @NonNull FilterChain chain) throws ServletException, IOException {
+        if (!HttpMethod.POST.matches(req.getMethod()) || !limiter.limits(req.getRequestURI())) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        if (req.getContentLengthLong() > MAX_BODY_BYTES) {
+            res.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        // Chunked bodies carry no length; read one byte past the cap to notice them
+        byte[] body = req.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            res.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+
+        BufferedBodyRequest buffered = new BufferedBodyRequest(req, body);
+        Optional<Duration> retryAfter = limiter.tryAcquire(req.getRequestURI(), req.getRemoteAddr(),
+                buffered.email(objectMapper));
+        if (retryAfter.isPresent()) {
+            res.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            res.setHeader("Retry-After", Long.toString(Math.max(1, retryAfter.get().toSeconds())));
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getWriter().write("{\"message\":\"Too many requests, try again later\"}");
+            return;
+        }
+        chain.doFilter(buffered, res);
+    }
+
+    /** Reads the body once and replays it to whoever reads it next. */
+    private static class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest req, byte[] body) {
+            super(req);
+            this.body = body;
+        }
+
+        String email(ObjectMapper objectMapper) {
+            if (body.length == 0) {
+                return null;
+            }
+            try {
+                JsonNode email = objectMapper.readTree(body).get("email");
+                return email != null && email.isTextual() ? email.asText() : null;
+            } catch (IOException e) {
+                // Malformed JSON is rejected by the controller; limit by IP only
+                return null;
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is already in memory, so it is available at once
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding())
+                    : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
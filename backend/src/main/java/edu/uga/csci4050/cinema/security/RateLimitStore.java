@@ -0,0 +1,31 @@
+package edu.uga.csci4050.cinema.security;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Sliding-window request counters.
+ *
+ * The window is approximated from two fixed windows: the previous window's
+ * count weighted by how much of it still overlaps, plus the current count.
+ * Only accepted requests are counted.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Count one request for {@code key} under {@code bucket} if that keeps it
+     * within {@code limit} per {@code window}.
+     *
+     * @return false if the request is over the limit
+     */
+    boolean tryAcquire(String bucket, String key, int limit, Duration window, Instant now);
+
+    /** Drop counters that no longer affect any window. */
+    void sweep(Instant now);
+
+    /** Requests allowed so far, given the previous and current window counts. */
+    static double estimate(long previous, long current, long windowMillis, long nowMillis) {
+        double elapsed = (double) Math.floorMod(nowMillis, windowMillis) / windowMillis;
+        return previous * (1 - elapsed) + current;
+    }
+}
@@ -0,0 +1,72 @@
+package edu.uga.csci4050.cinema.security;
+
+import edu.uga.csci4050.cinema.config.RateLimitProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Applies the configured per-endpoint limits by client IP and by email.
+ */
+@Service
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final RateLimitStore store;
+
+    public RateLimiter(RateLimitProperties properties, RateLimitStore store) {
+        this.properties = properties;
+        this.store = store;
+    }
+
+    /** Whether requests to {@code path} are rate limited at all. */
+    public boolean limits(String path) {
+        return rule(path).isPresent();
+    }
+
+    /**
+     * Count a request to {@code path} from {@code ip} for {@code email}
+     * (either may be null).
+     *
+     * @return how long to wait if the request is over a limit, empty if it may
+     *         proceed
+     */
+    public Optional<Duration> tryAcquire(String path, String ip, String email) {
+        var match = rule(path);
+        if (match.isEmpty()) {
+            return Optional.empty();
+        }
+        String name = match.get().getKey();
+        RateLimitProperties.Rule rule = match.get().getValue();
+        Instant now = Instant.now();
+        if (ip != null && rule.perIp() > 0
+                && !store.tryAcquire(name + ":ip", ip, rule.perIp(), rule.window(), now)) {
+            return Optional.of(rule.window());
+        }
+        if (email != null && !email.isBlank() && rule.perEmail() > 0
+                && !store.tryAcquire(name + ":email", email.trim().toLowerCase(Locale.ROOT), rule.perEmail(),
+                        rule.window(), now)) {
+            return Optional.of(rule.window());
+        }
+        return Optional.empty();
+    }
+
+    @Scheduled(fixedDelayString = "${app.ratelimit.sweep-ms:60000}")
+    public void sweep() {
+        store.sweep(Instant.now());
+    }
+
+    private Optional<Map.Entry<String, RateLimitProperties.Rule>> rule(String path) {
+        if (!properties.enabled() || path == null) {
+            return Optional.empty();
+        }
+        return properties.rules().entrySet().stream()
+                .filter(e -> path.equals(e.getValue().path()))
+                .findFirst();
+    }
+}
@@ -0,0 +1,61 @@
+package edu.uga.csci4050.cinema.service;
+
+import edu.uga.csci4050.cinema.repository.MailOutboxRepository;
+import edu.uga.csci4050.cinema.type.OutboxStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+/**
+ * Business counters and gauges, scraped from /actuator/prometheus.
+ *
+ * Mongo command timings come from Spring Boot's Mongo command listener
+ * (mongodb.driver.commands, tagged by collection and command).
+ */
+@Service
+public class CinemaMetrics {
+
+    private final Counter bookings;
+    private final Counter seatsSold;
+    private final Counter seatConflicts;
+    private final Counter refunds;
+    private final Counter cancellations;
+    private final Counter mailFailures;
+
+    public CinemaMetrics(MeterRegistry registry, SeatHoldService holds, MailOutboxRepository outbox) {
+        this.bookings = Counter.builder("cinema.bookings").description("Confirmed bookings").register(registry);
+        this.seatsSold = Counter.builder("cinema.seats.sold").description("Seats sold").register(registry);
+        this.seatConflicts = Counter.builder("cinema.seat.conflicts")
+                .description("Bookings rejected because a seat was taken or held").register(registry);
+        this.refunds = Counter.builder("cinema.tickets.returned").tag("refund", "true")
+                .description("Returned tickets").register(registry);
+        this.cancellations = Counter.builder("cinema.tickets.returned").tag("refund", "false")
+                .description("Returned tickets").register(registry);
+        this.mailFailures = Counter.builder("cinema.mail.failures")
+                .description("Failed mail delivery attempts").register(registry);
+
+        Gauge.builder("cinema.holds.active", holds, SeatHoldService::activeHolds)
+                .description("Seat holds not yet expired").register(registry);
+        // Counted on scrape; served by the (status, nextAttemptAt) index
+        Gauge.builder("cinema.mail.outbox.depth", outbox, o -> o.countByStatus(OutboxStatus.PENDING))
+                .description("Mails waiting to be sent").register(registry);
+    }
+
+    public void booked(int seats) {
+        bookings.increment();
+        seatsSold.increment(seats);
+    }
+
+    public void seatConflict() {
+        seatConflicts.increment();
+    }
+
+    public void ticketReturned(boolean refunded) {
+        (refunded ? refunds : cancellations).increment();
+    }
+
+    public void mailFailed() {
+        mailFailures.increment();
+    }
+}
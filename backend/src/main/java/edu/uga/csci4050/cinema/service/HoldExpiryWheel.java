@@ -0,0 +1,74 @@
+package edu.uga.csci4050.cinema.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel for hold expiry.
+ * Scheduling is O(1) and each tick only looks at the slots that elapsed since
+ * the previous tick, instead of scanning every live hold.
+ * Entries due more than one revolution ahead simply stay in their slot until
+ * the wheel comes round again.
+ */
+public class HoldExpiryWheel {
+
+    private record Entry(String token, long deadlineMillis) {
+    }
+
+    private final long tickMillis;
+    private final List<Queue<Entry>> slots;
+    private volatile long lastTick;
+
+    public HoldExpiryWheel(long tickMillis, int slotCount, Instant now) {
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ConcurrentLinkedQueue<>());
+        }
+        this.lastTick = now.toEpochMilli() / tickMillis;
+    }
+
+    public void schedule(String token, Instant deadline) {
+        long millis = deadline.toEpochMilli();
+        // Deadlines already behind the cursor go into the next slot to be visited
+        long tick = Math.max(millis / tickMillis, lastTick);
+        slots.get(slotOf(tick)).add(new Entry(token, millis));
+    }
+
+    /**
+     * Advance the wheel to {@code now} and return the tokens whose deadline has
+     * passed. Only called from the single scheduler thread.
+     */
+    public List<String> advance(Instant now) {
+        long nowMillis = now.toEpochMilli();
+        long currentTick = nowMillis / tickMillis;
+        List<String> expired = new ArrayList<>();
+
+        // Never walk more than one full revolution; beyond that every slot is visited anyway
+        long from = Math.max(lastTick, currentTick - slots.size() + 1);
+        for (long tick = from; tick <= currentTick; tick++) {
+            Queue<Entry> slot = slots.get(slotOf(tick));
+            int pending = slot.size();
+            for (int i = 0; i < pending; i++) {
+                Entry e = slot.poll();
+                if (e == null) {
+                    break;
+                }
+                if (e.deadlineMillis() <= nowMillis) {
+                    expired.add(e.token());
+                } else {
+                    slot.add(e);
+                }
+            }
+        }
+        lastTick = currentTick;
+        return expired;
+    }
+
+    private int slotOf(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.size());
+    }
+}
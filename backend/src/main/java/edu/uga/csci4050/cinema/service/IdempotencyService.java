@@ -0,0 +1,203 @@
+package edu.uga.csci4050.cinema.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.client.result.UpdateResult;
+import edu.uga.csci4050.cinema.model.IdempotencyRecord;
+import edu.uga.csci4050.cinema.util.TokenUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Idempotency-Key support: the first request with a key claims it, and
+ * retries with the same key and body get the stored response back.
+ *
+ * Claims are inserts into the idempotency_keys collection keyed by _id, so
+ * only one request wins a key across every node. A new key costs one insert
+ * and one update, both by _id. Completed records are also kept in a local
+ * LRU cache, so a replay on the node that served the original does not
+ * touch Mongo.
+ *
+ * A claim holds the key for a short lease (lockedUntil). If the node running
+ * the request dies, a retry after the lease has run out takes the claim over
+ * instead of getting 409 until the record expires. complete and abandon only
+ * act while the caller still holds the lease it was given.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * A claimed key. replay is the stored outcome when this request is a
+     * retry, and null when the caller should run the request.
+     */
+    public record Claim(String id, String requestHash, Instant lockedUntil, IdempotencyRecord replay) {
+        public boolean isReplay() {
+            return replay != null;
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper json;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Cache<String, IdempotencyRecord> completed;
+
+    public IdempotencyService(MongoTemplate mongoTemplate, ObjectMapper json,
+            @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${app.idempotency.lease-seconds:30}") long leaseSeconds,
+            @Value("${app.idempotency.cache-size:10000}") long cacheSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.json = json;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.completed = Caffeine.newBuilder().maximumSize(cacheSize).expireAfterWrite(ttl).build();
+    }
+
+    /**
+     * Claim a key for this user and request.
+     *
+     * @throws ResponseStatusException 400 if the key is blank or too long,
+     *                                 409 if the first request with the key
+     *                                 is still running within its lease, 422
+     *                                 if the key was
+     *                                 used for a different request
+     */
+    public Claim begin(String userEmail, String key, Object request) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        String id = TokenUtil.sha256(userEmail.toLowerCase() + "\n" + key);
+        String requestHash = TokenUtil.sha256(serialize(request));
+
+        IdempotencyRecord cached = completed.getIfPresent(id);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        // A second pass only happens if the holder abandoned the key between our insert and read
+        for (int attempt = 0; attempt < 2; attempt++) {
+            // Mongo keeps milliseconds, and lockedUntil is matched exactly later
+            Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            Instant lockedUntil = now.plus(lease);
+            IdempotencyRecord record = new IdempotencyRecord();
+            record.setId(id);
+            record.setRequestHash(requestHash);
+            record.setCreatedAt(now);
+            record.setLockedUntil(lockedUntil);
+            record.setExpiresAt(now.plus(ttl));
+            try {
+                mongoTemplate.insert(record);
+                return new Claim(id, requestHash, lockedUntil, null);
+            } catch (DuplicateKeyException e) {
+                // The same request whose holder let its lease run out: take it over
+                Query stale = new Query(Criteria.where("_id").is(id).and("completed").is(false)
+                        .and("requestHash").is(requestHash).and("lockedUntil").lt(now));
+                IdempotencyRecord taken = mongoTemplate.findAndModify(stale,
+                        new Update().set("lockedUntil", lockedUntil),
+                        FindAndModifyOptions.options().returnNew(true), IdempotencyRecord.class);
+                if (taken != null) {
+                    return new Claim(id, requestHash, lockedUntil, null);
+                }
+                IdempotencyRecord existing = mongoTemplate.findById(id, IdempotencyRecord.class);
+                if (existing == null) {
+                    continue;
+                }
+                if (!existing.isCompleted()) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "A request with this " + HEADER + " is still in progress");
+                }
+                completed.put(id, existing);
+                return replay(existing, requestHash);
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "A request with this " + HEADER + " is still in progress");
+    }
+
+    /**
+     * Store the outcome of a claimed request. Server errors are not stored,
+     * so the client can retry them with the same key.
+     */
+    public void complete(Claim claim, int status, Object body) {
+        if (status >= 500) {
+            abandon(claim);
+            return;
+        }
+        String payload = body == null ? null : serialize(body);
+        UpdateResult stored = mongoTemplate.updateFirst(held(claim),
+                new Update().set("completed", true).set("status", status).set("body", payload)
+                        .unset("lockedUntil"),
+                IdempotencyRecord.class);
+        if (stored.getMatchedCount() == 0) {
+            // Our lease ran out and a retry took the key over; its outcome is the one remembered
+            return;
+        }
+
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setId(claim.id());
+        record.setRequestHash(claim.requestHash());
+        record.setCompleted(true);
+        record.setStatus(status);
+        record.setBody(payload);
+        completed.put(claim.id(), record);
+    }
+
+    /** Release a claim whose request failed, so a retry runs it again. */
+    public void abandon(Claim claim) {
+        mongoTemplate.remove(held(claim), IdempotencyRecord.class);
+    }
+
+    // The record as long as this claim still holds it
+    private static Query held(Claim claim) {
+        return new Query(Criteria.where("_id").is(claim.id()).and("completed").is(false)
+                .and("lockedUntil").is(claim.lockedUntil()));
+    }
+
+    /** The stored response body, or null if there was none. */
+    public <T> T body(IdempotencyRecord record, Class<T> type) {
+        if (record.getBody() == null) {
+            return null;
+        }
+        try {
+            return json.readValue(record.getBody(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable stored response " + record.getId(), e);
+        }
+    }
+
+    private static Claim replay(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different request");
+        }
+        return new Claim(record.getId(), requestHash, null, record);
+    }
+
+    private String serialize(Object value) {
+        try {
+            return json.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package edu.uga.csci4050.cinema.service;
+
+import edu.uga.csci4050.cinema.model.OutboxMail;
+import edu.uga.csci4050.cinema.type.OutboxStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends mail from the mail_outbox collection on a small bounded worker pool.
+ *
+ * Each poll claims due mails one at a time with findAndModify (PENDING ->
+ * SENDING), so several instances can share the outbox without sending twice.
+ * Only as many mails are claimed as the pool has room for. Failed sends are
+ * retried with exponential backoff and marked DEAD after max-attempts. Mails
+ * left in SENDING by a crashed instance are picked up again after the claim
+ * timeout.
+ *
+ * With spring.threads.virtual.enabled the workers are virtual threads, so a
+ * worker blocked on SMTP does not hold a platform thread. The pool size still
+ * caps concurrent SMTP sessions either way.
+ */
+@Service
+public class MailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(5);
+
+    private final MongoTemplate mongoTemplate;
+    private final MailService mailService;
+    private final CinemaMetrics metrics;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final ThreadPoolExecutor workers;
+
+    public MailDispatcher(MongoTemplate mongoTemplate, MailService mailService, CinemaMetrics metrics,
+            @Value("${app.mail.outbox.workers:4}") int workerCount,
+            @Value("${app.mail.outbox.max-attempts:6}") int maxAttempts,
+            @Value("${app.mail.outbox.backoff-seconds:30}") long backoffSeconds,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.mongoTemplate = mongoTemplate;
+        this.mailService = mailService;
+        this.metrics = metrics;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = Duration.ofSeconds(backoffSeconds);
+        this.maxBackoff = Duration.ofHours(1);
+        ThreadFactory threads = virtualThreads
+                ? Thread.ofVirtual().name("mail-outbox-", 1).factory()
+                : Executors.defaultThreadFactory();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount * 4), threads);
+    }
+
+    /**
+     * Claim due mails and hand them to the worker pool.
+     *
+     * @return how many mails were claimed
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-ms:1000}")
+    public int dispatchDue() {
+        int claimed = 0;
+        while (workers.getQueue().remainingCapacity() > 0) {
+            OutboxMail mail = claimNext(Instant.now());
+            if (mail == null) {
+                break;
+            }
+            workers.execute(() -> deliver(mail));
+            claimed++;
+        }
+        return claimed;
+    }
+
+    private OutboxMail claimNext(Instant now) {
+        Criteria due = new Criteria().orOperator(
+                Criteria.where("status").is(OutboxStatus.PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(OutboxStatus.SENDING).and("claimedAt").lt(now.minus(CLAIM_TIMEOUT)));
+        Query query = new Query(due).with(Sort.by("nextAttemptAt"));
+        Update update = new Update().set("status", OutboxStatus.SENDING).set("claimedAt", now);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true),
+                OutboxMail.class);
+    }
+
+    private void deliver(OutboxMail mail) {
+        int attempts = mail.getAttempts() + 1;
+        // Only this claim may record the outcome; after the claim timeout another
+        // instance may have claimed the mail again with a newer claimedAt
+        Query claim = new Query(Criteria.where("_id").is(mail.getId()).and("status").is(OutboxStatus.SENDING)
+                .and("claimedAt").is(mail.getClaimedAt()));
+        try {
+            mailService.deliver(mail);
+            record(mail, claim, new Update()
+                    .set("status", OutboxStatus.SENT)
+                    .set("attempts", attempts)
+                    .set("sentAt", Instant.now())
+                    .unset("lastError"));
+        } catch (Exception e) {
+            metrics.mailFailed();
+            Update update = new Update().set("attempts", attempts).set("lastError", String.valueOf(e.getMessage()));
+            if (attempts >= maxAttempts) {
+                update.set("status", OutboxStatus.DEAD);
+                log.warn("Mail to {} dead-lettered after {} attempts: {}", mail.getTo(), attempts, e.getMessage());
+            } else {
+                update.set("status", OutboxStatus.PENDING).set("nextAttemptAt", Instant.now().plus(backoff(attempts)));
+            }
+            record(mail, claim, update);
+        }
+    }
+
+    private void record(OutboxMail mail, Query claim, Update update) {
+        if (mongoTemplate.updateFirst(claim, update, OutboxMail.class).getMatchedCount() == 0) {
+            log.warn("Claim on mail {} to {} was lost before its outcome was recorded", mail.getId(), mail.getTo());
+        }
+    }
+
+    /** Exponential backoff: base, 2x base, 4x base, ... capped at one hour. */
+    Duration backoff(int attempts) {
+        Duration delay = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
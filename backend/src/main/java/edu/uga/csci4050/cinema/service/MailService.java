@@ -1,25 +1,50 @@
 package edu.uga.csci4050.cinema.service;
 
+import edu.uga.csci4050.cinema.model.OutboxMail;
+import edu.uga.csci4050.cinema.repository.MailOutboxRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.MailException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
+/**
+ * send() only writes the mail to the outbox; MailDispatcher delivers it in
+ * the background so request latency does not depend on the SMTP server.
+ * The outbox row is saved on its own after the caller's write, not in the
+ * same transaction, so a mail can be lost if the node dies in between.
+ */
 @Service
 public class MailService {
     private final JavaMailSender sender;
+    private final MailOutboxRepository outbox;
     private final String from;
     private final String baseUrl;
     public MailService(JavaMailSender sender,
+                       MailOutboxRepository outbox,
                        @Value("${app.mail.from}") String from,
                        @Value("${app.frontend.baseUrl}") String baseUrl) {
-        this.sender = sender; this.from = from; this.baseUrl=baseUrl;
+        this.sender = sender; this.outbox = outbox; this.from = from; this.baseUrl=baseUrl;
+    }
+    public void send(String to, String subject, String body) {
+        OutboxMail mail = new OutboxMail();
+        mail.setTo(to); mail.setSubject(subject); mail.setBody(body);
+        outbox.save(mail);
+    }
+    /** Send immediately over SMTP. Used by the dispatcher. */
+    public void deliver(OutboxMail mail) throws MailException {
+        sender.send(message(mail.getTo(), mail.getSubject(), mail.getBody()));
+    }
+    /** Send a batch immediately over one SMTP connection. Used for campaigns. */
+    public void deliverAll(List<SimpleMailMessage> batch) throws MailException {
+        sender.send(batch.toArray(new SimpleMailMessage[0]));
     }
-    public void send(String to, String subject, String body) throws MailException {
+    public SimpleMailMessage message(String to, String subject, String body) {
         SimpleMailMessage msg = new SimpleMailMessage();
         msg.setFrom(from); msg.setTo(to); msg.setSubject(subject); msg.setText(body);
-        sender.send(msg);
+        return msg;
     }
     public String frontendUrl(){ return baseUrl; }
 }
@@ -0,0 +1,58 @@
+package edu.uga.csci4050.cinema.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import edu.uga.csci4050.cinema.model.MovieItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for single movies, bounded by size and TTL. Admin writes
+ * invalidate the affected id. Searches are answered by MovieSearchIndex and
+ * are not cached here.
+ */
+@Service
+public class MovieCatalogCache {
+
+    private final Cache<String, Optional<MovieItem>> byId;
+
+    public MovieCatalogCache(@Value("${app.catalog.cache.max-size:2000}") long maxSize,
+            @Value("${app.catalog.cache.ttl-minutes:10}") long ttlMinutes) {
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+        this.byId = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+    }
+
+    public Optional<MovieItem> getMovie(String id, Function<String, Optional<MovieItem>> loader) {
+        return byId.get(id, loader);
+    }
+
+    /** A movie was created, edited or deleted. */
+    public void invalidate(String id) {
+        if (id != null) {
+            byId.invalidate(id);
+        }
+    }
+
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> out = new LinkedHashMap<>();
+        out.put("byId", stats(byId.stats(), byId.estimatedSize()));
+        return out;
+    }
+
+    private static Map<String, Object> stats(CacheStats s, long size) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("size", size);
+        m.put("hits", s.hitCount());
+        m.put("misses", s.missCount());
+        m.put("hitRate", s.hitRate());
+        m.put("evictions", s.evictionCount());
+        return m;
+    }
+}
@@ -0,0 +1,359 @@
+package edu.uga.csci4050.cinema.service;
+
+import edu.uga.csci4050.cinema.model.MovieItem;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search over the movie catalog.
+ *
+ * Each movie gets a slot. Titles are indexed by trigram (each trigram maps to
+ * a BitSet of slots) and genres by lowercase name. A title query intersects
+ * the posting lists of its trigrams, then checks candidates with a plain
+ * substring test to drop false positives. Genre filters are OR-ed, as the
+ * previous Mongo query did. Results are ranked: exact title first, then
+ * prefix, then word start, then any substring; ties are broken by number of
+ * matching genres, then shorter title.
+ *
+ * The index is loaded at startup and kept current from Mongo save/delete
+ * events on MovieItem. Those events only fire on this node, so the index is
+ * also rebuilt from the collection periodically to pick up writes made by
+ * other nodes or directly in Mongo. Slots of deleted movies are not reused
+ * until the next rebuild.
+ *
+ * Only one rebuild runs at a time. The collection is read outside the index
+ * lock, so saves and deletes seen while a rebuild is reading are recorded and
+ * applied again on top of the fresh snapshot instead of being lost to it.
+ */
+@Component
+public class MovieSearchIndex extends AbstractMongoEventListener<MovieItem> {
+
+    private final MongoTemplate mongoTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock rebuilding = new ReentrantLock();
+
+    private final List<MovieItem> movies = new ArrayList<>();
+    private final List<String> titles = new ArrayList<>();
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final Map<Long, BitSet> trigrams = new HashMap<>();
+    private final Map<String, BitSet> genres = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private volatile boolean loaded;
+    // While a rebuild reads the collection: writes seen meanwhile (null = deleted)
+    private Map<String, MovieItem> pending;
+    private boolean pendingReload;
+
+    public MovieSearchIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuilding.lock();
+        try {
+            reload();
+        } finally {
+            rebuilding.unlock();
+        }
+    }
+
+    // Callers hold the rebuilding lock
+    private void reload() {
+        lock.writeLock().lock();
+        try {
+            pending = new LinkedHashMap<>();
+            pendingReload = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            List<MovieItem> all = mongoTemplate.findAll(MovieItem.class);
+            lock.writeLock().lock();
+            try {
+                movies.clear();
+                titles.clear();
+                slots.clear();
+                trigrams.clear();
+                genres.clear();
+                live.clear();
+                all.forEach(this::put);
+                pending.forEach((id, movie) -> {
+                    if (movie != null) {
+                        put(movie);
+                    } else {
+                        drop(id);
+                    }
+                });
+                // A delete that could not be applied by id needs another reload
+                loaded = !pendingReload;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.index.rebuild-ms:300000}",
+            initialDelayString = "${app.catalog.index.rebuild-ms:300000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<MovieItem> event) {
+        index(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<MovieItem> event) {
+        Document filter = event.getSource();
+        Object id = filter == null ? null : filter.get("_id");
+        if (id != null) {
+            // deleteById passes the raw id; anything more complex forces a reload
+            if (id instanceof Document) {
+                invalidate();
+            } else {
+                remove(id.toString());
+            }
+        }
+    }
+
+    /** Add or replace one movie. */
+    public void index(MovieItem movie) {
+        if (movie == null || movie.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            put(movie);
+            if (pending != null) {
+                pending.put(movie.getId(), movie);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            drop(id);
+            if (pending != null) {
+                pending.put(id, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            pendingReload = pending != null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Load the index if it is not loaded; concurrent callers wait for one load. */
+    private void ensureLoaded() {
+        rebuilding.lock();
+        try {
+            if (!loaded) {
+                reload();
+            }
+        } finally {
+            rebuilding.unlock();
+        }
+    }
+
+    /**
+     * Movies whose title contains the query (case-insensitive) and that have
+     * any of the genres, ranked. Null or blank arguments do not filter.
+     */
+    public List<MovieItem> search(String title, List<String> genreFilter) {
+        if (!loaded) {
+            ensureLoaded();
+        }
+        String q = normalize(title);
+        lock.readLock().lock();
+        try {
+            BitSet candidates = (BitSet) live.clone();
+            if (q.length() >= 3) {
+                for (int i = 0; i + 3 <= q.length(); i++) {
+                    BitSet postings = trigrams.get(trigram(q, i));
+                    if (postings == null) {
+                        return List.of();
+                    }
+                    candidates.and(postings);
+                }
+            }
+
+            List<String> wanted = new ArrayList<>();
+            if (genreFilter != null) {
+                for (String g : genreFilter) {
+                    if (g != null && !g.isBlank()) {
+                        wanted.add(g.strip().toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            if (!wanted.isEmpty()) {
+                BitSet anyGenre = new BitSet();
+                for (String g : wanted) {
+                    BitSet postings = genres.get(g);
+                    if (postings != null) {
+                        anyGenre.or(postings);
+                    }
+                }
+                candidates.and(anyGenre);
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                String t = titles.get(slot);
+                int rank = q.isEmpty() ? 0 : titleRank(t, q);
+                if (rank < 0) {
+                    continue;
+                }
+                int genreMatches = 0;
+                for (String g : wanted) {
+                    BitSet postings = genres.get(g);
+                    if (postings != null && postings.get(slot)) {
+                        genreMatches++;
+                    }
+                }
+                hits.add(new Hit(movies.get(slot), t, rank, genreMatches));
+            }
+            hits.sort(Comparator.comparingInt(Hit::rank)
+                    .thenComparing(Comparator.comparingInt(Hit::genreMatches).reversed())
+                    .thenComparingInt(h -> h.title().length())
+                    .thenComparing(Hit::title));
+
+            List<MovieItem> out = new ArrayList<>(hits.size());
+            hits.forEach(h -> out.add(h.movie()));
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Hit(MovieItem movie, String title, int rank, int genreMatches) {
+    }
+
+    /** 0 exact, 1 prefix, 2 word start, 3 substring, -1 no match. */
+    private static int titleRank(String title, String q) {
+        int at = title.indexOf(q);
+        if (at < 0) {
+            return -1;
+        }
+        if (title.length() == q.length()) {
+            return 0;
+        }
+        if (at == 0) {
+            return 1;
+        }
+        // Look for a later occurrence at a word boundary
+        for (int i = at; i >= 0; i = title.indexOf(q, i + 1)) {
+            if (!Character.isLetterOrDigit(title.charAt(i - 1))) {
+                return 2;
+            }
+        }
+        return 3;
+    }
+
+    // Callers hold the write lock
+    private void put(MovieItem movie) {
+        Integer existing = slots.get(movie.getId());
+        int slot;
+        if (existing != null) {
+            slot = existing;
+            unindex(slot);
+            movies.set(slot, movie);
+            titles.set(slot, normalize(movie.getTitle()));
+        } else {
+            slot = movies.size();
+            movies.add(movie);
+            titles.add(normalize(movie.getTitle()));
+            slots.put(movie.getId(), slot);
+        }
+        String t = titles.get(slot);
+        for (int i = 0; i + 3 <= t.length(); i++) {
+            trigrams.computeIfAbsent(trigram(t, i), k -> new BitSet()).set(slot);
+        }
+        if (movie.getGenres() != null) {
+            for (String g : movie.getGenres()) {
+                if (g != null && !g.isBlank()) {
+                    genres.computeIfAbsent(g.strip().toLowerCase(Locale.ROOT), k -> new BitSet()).set(slot);
+                }
+            }
+        }
+        live.set(slot);
+    }
+
+    // Callers hold the write lock
+    private void drop(String id) {
+        Integer slot = slots.remove(id);
+        if (slot != null) {
+            unindex(slot);
+            movies.set(slot, null);
+            titles.set(slot, null);
+            live.clear(slot);
+        }
+    }
+
+    private void unindex(int slot) {
+        String t = titles.get(slot);
+        if (t != null) {
+            for (int i = 0; i + 3 <= t.length(); i++) {
+                BitSet postings = trigrams.get(trigram(t, i));
+                if (postings != null) {
+                    postings.clear(slot);
+                }
+            }
+        }
+        MovieItem old = movies.get(slot);
+        if (old != null && old.getGenres() != null) {
+            for (String g : old.getGenres()) {
+                BitSet postings = g == null ? null : genres.get(g.strip().toLowerCase(Locale.ROOT));
+                if (postings != null) {
+                    postings.clear(slot);
+                }
+            }
+        }
+    }
+
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+}
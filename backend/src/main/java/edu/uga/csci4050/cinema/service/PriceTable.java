@@ -0,0 +1,92 @@
+package edu.uga.csci4050.cinema.service;
+
+import edu.uga.csci4050.cinema.model.TicketInfo;
+import edu.uga.csci4050.cinema.repository.TicketRepository;
+import edu.uga.csci4050.cinema.type.TicketType;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory copy of the ticket_prices collection.
+ *
+ * Readers get an immutable snapshot without touching Mongo. The snapshot is
+ * replaced whenever prices are updated through this service. Nodes that do not
+ * see the update can reload on app.prices.refresh-cron (off by default).
+ */
+@Service
+public class PriceTable {
+
+    private record Snapshot(Map<TicketType, BigDecimal> prices, List<TicketInfo> rows) {
+    }
+
+    private final TicketRepository ticketRepo;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public PriceTable(TicketRepository ticketRepo) {
+        this.ticketRepo = ticketRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.prices.refresh-cron:-}")
+    public void refresh() {
+        List<TicketInfo> rows = ticketRepo.findAll();
+        Map<TicketType, BigDecimal> prices = new EnumMap<>(TicketType.class);
+        for (TicketInfo row : rows) {
+            if (row.getType() != null) {
+                prices.put(row.getType(), BigDecimal.valueOf(row.getPrice()));
+            }
+        }
+        snapshot.set(new Snapshot(Collections.unmodifiableMap(prices), List.copyOf(rows)));
+    }
+
+    /** Price of one ticket type, or zero if it has no price. */
+    public BigDecimal price(TicketType type) {
+        return current().prices().getOrDefault(type, BigDecimal.ZERO);
+    }
+
+    public Map<TicketType, BigDecimal> prices() {
+        return current().prices();
+    }
+
+    /** The stored price rows, as served by GET /api/tickets/prices. */
+    public List<TicketInfo> rows() {
+        return current().rows();
+    }
+
+    /**
+     * Change the price of a ticket type and publish a new snapshot.
+     * Empty if the type has no stored price.
+     */
+    public Optional<TicketInfo> update(TicketType type, double price) {
+        var ticket = ticketRepo.findByType(type).orElse(null);
+        if (ticket == null) {
+            return Optional.empty();
+        }
+        if (Double.compare(price, ticket.getPrice()) != 0) {
+            ticket.setPrice(price);
+            ticketRepo.save(ticket);
+            refresh();
+        }
+        return Optional.of(ticket);
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot.get();
+        if (s == null) {
+            // Used before the application finished starting
+            refresh();
+            s = snapshot.get();
+        }
+        return s;
+    }
+}
@@ -0,0 +1,203 @@
+package edu.uga.csci4050.cinema.service;
+
+import edu.uga.csci4050.cinema.model.Promotion;
+import edu.uga.csci4050.cinema.repository.UserRepository;
+import edu.uga.csci4050.cinema.type.Subscriber;
+import edu.uga.csci4050.cinema.util.DateTimeUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Emails a promotion to every subscriber as a background job.
+ *
+ * Recipients are streamed from Mongo (email and name only) and grouped into
+ * batches. Each batch goes out over a single SMTP connection. Batches run
+ * on virtual threads, at most app.promotions.concurrency at a time, and
+ * are paced to app.promotions.rate-per-second. Progress is kept in memory
+ * per promotion.
+ */
+@Service
+public class PromotionCampaignService {
+
+    private static final Logger log = LoggerFactory.getLogger(PromotionCampaignService.class);
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    /** Progress of one campaign, as returned by the status endpoint. */
+    public static class Job {
+        private final String promotionId;
+        private final long total;
+        private final Instant startedAt = Instant.now();
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile State state = State.RUNNING;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        Job(String promotionId, long total) {
+            this.promotionId = promotionId;
+            this.total = total;
+        }
+
+        public String getPromotionId() { return promotionId; }
+        public long getTotal() { return total; }
+        public int getSent() { return sent.get(); }
+        public int getFailed() { return failed.get(); }
+        public State getState() { return state; }
+        public Instant getStartedAt() { return startedAt; }
+        public Instant getFinishedAt() { return finishedAt; }
+        public String getError() { return error; }
+    }
+
+    private final UserRepository users;
+    private final MailService mail;
+    private final int batchSize;
+    private final int concurrency;
+    private final long nanosPerMail;
+    private final Timer batchTimer;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private long nextSlot = System.nanoTime();
+
+    public PromotionCampaignService(UserRepository users, MailService mail, ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.promotions.batch-size:50}") int batchSize,
+            @Value("${app.promotions.concurrency:4}") int concurrency,
+            @Value("${app.promotions.rate-per-second:20}") int ratePerSecond) {
+        this.users = users;
+        this.mail = mail;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.nanosPerMail = 1_000_000_000L / Math.max(1, ratePerSecond);
+        // Send time per batch, excluding the wait for the rate limit
+        this.batchTimer = Timer.builder("promotion.campaign.batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    /**
+     * Start sending the promotion in the background.
+     *
+     * @throws ResponseStatusException 409 if a campaign for it is already running
+     */
+    public Job start(Promotion promo) {
+        Job job = new Job(promo.getId(), users.countByPromotionsOptInTrue());
+        Job existing = jobs.merge(promo.getId(), job, (old, fresh) -> old.state == State.RUNNING ? old : fresh);
+        if (existing != job) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Promotion is already being sent");
+        }
+        executor.execute(() -> run(job, promo));
+        return job;
+    }
+
+    public Optional<Job> status(String promotionId) {
+        return Optional.ofNullable(jobs.get(promotionId));
+    }
+
+    private void run(Job job, Promotion promo) {
+        Semaphore inFlight = new Semaphore(concurrency);
+        String subject = "Cinema promotion: " + promo.getCode();
+        try (Stream<Subscriber> recipients = users.streamByPromotionsOptInTrue()) {
+            List<SimpleMailMessage> batch = new ArrayList<>(batchSize);
+            for (Subscriber s : (Iterable<Subscriber>) recipients::iterator) {
+                if (s.email() == null || s.email().isBlank()) {
+                    continue;
+                }
+                batch.add(mail.message(s.email(), subject, buildEmailBody(s, promo)));
+                if (batch.size() == batchSize) {
+                    submit(job, batch, inFlight);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(job, batch, inFlight);
+            }
+            // Wait for the last batches
+            inFlight.acquire(concurrency);
+            job.state = State.COMPLETED;
+        } catch (Exception e) {
+            job.error = e.getMessage();
+            job.state = State.FAILED;
+            log.warn("Promotion campaign {} failed", job.promotionId, e);
+        } finally {
+            job.finishedAt = Instant.now();
+        }
+    }
+
+    private void submit(Job job, List<SimpleMailMessage> batch, Semaphore inFlight) throws InterruptedException {
+        // Blocks the reader when enough batches are in flight, so memory stays bounded
+        inFlight.acquire();
+        executor.execute(() -> {
+            try {
+                pace(batch.size());
+                batchTimer.record(() -> mail.deliverAll(batch));
+                job.sent.addAndGet(batch.size());
+            } catch (MailSendException e) {
+                int failed = e.getFailedMessages().isEmpty() ? batch.size() : e.getFailedMessages().size();
+                job.failed.addAndGet(failed);
+                job.sent.addAndGet(batch.size() - failed);
+            } catch (Exception e) {
+                log.warn("Promotion batch for {} failed: {}", job.promotionId, e.getMessage());
+                job.failed.addAndGet(batch.size());
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /** Sleep until this batch fits the configured send rate. */
+    private void pace(int mails) throws InterruptedException {
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(nextSlot, now);
+            nextSlot = slot + mails * nanosPerMail;
+            wait = slot - now;
+        }
+        if (wait > 0) {
+            Thread.sleep(Duration.ofNanos(wait));
+        }
+    }
+
+    private String buildEmailBody(Subscriber s, Promotion p) {
+        String name = (s.name() != null && !s.name().isBlank())
+                ? s.name()
+                : "there";
+        return "Hi " + name + ",\n\n" +
+                "Here's a new promotion just for our subscribers!\n\n" +
+                "Promo code: " + p.getCode() + "\n" +
+                "Discount: " + p.getDiscountPercent() + "%\n" +
+                "Valid from " + DateTimeUtil.formatDate(p.getStartDate()) +
+                " to " + DateTimeUtil.formatDate(p.getEndDate()) + ".\n\n" +
+                "See you at the cinema!\n";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
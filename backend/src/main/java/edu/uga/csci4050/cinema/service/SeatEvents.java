@@ -0,0 +1,126 @@
+package edu.uga.csci4050.cinema.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-process bus of seat changes per showtime, streamed to seat pickers as
+ * Server-Sent Events.
+ *
+ * Each watched showtime has one multicast sink. An event is serialized once
+ * when published and the same payload goes to every subscriber. Each
+ * subscriber gets its own bounded buffer; one that falls too far behind has
+ * its stream ended, so it cannot slow the others. An EventSource reconnects
+ * by itself and starts again from a fresh snapshot. Showtimes nobody watches
+ * have no sink, and publishing to them costs one map lookup.
+ *
+ * Events only reach subscribers on this node.
+ */
+@Service
+public class SeatEvents {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatEvents.class);
+
+    static final int SUBSCRIBER_BUFFER = 256;
+    private static final Duration HEARTBEAT = Duration.ofSeconds(15);
+    private static final Sinks.EmitFailureHandler RETRY_CONTENDED =
+            Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100));
+
+    public enum Kind {
+        SOLD, HELD, RELEASED
+    }
+
+    private final ObjectMapper json;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+
+    public SeatEvents(ObjectMapper json) {
+        this.json = json;
+    }
+
+    public void publish(String showtimeId, Kind kind, Collection<String> seats) {
+        if (showtimeId == null || seats == null || seats.isEmpty()) {
+            return;
+        }
+        Channel channel = channels.get(showtimeId);
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.sink.emitNext(event(kind.name().toLowerCase(), Map.of("seats", seats)), RETRY_CONTENDED);
+        } catch (Exception e) {
+            log.warn("Dropped {} event for showtime {}: {}", kind, showtimeId, e.getMessage());
+        }
+    }
+
+    /**
+     * Seat events for one showtime: a "snapshot" event from the supplier,
+     * then sold/held/released deltas. Deltas published while the snapshot
+     * loads are queued and follow it, so nothing falls in between.
+     */
+    public Flux<ServerSentEvent<String>> stream(String showtimeId, Supplier<Map<String, ?>> snapshot) {
+        return Flux.defer(() -> {
+            Channel channel = acquire(showtimeId);
+            ConnectableFlux<ServerSentEvent<String>> live = channel.sink.asFlux()
+                    .onBackpressureBuffer(SUBSCRIBER_BUFFER, BufferOverflowStrategy.ERROR)
+                    .publish();
+            Disposable connection = live.connect();
+            Flux<ServerSentEvent<String>> heartbeat = Flux.interval(HEARTBEAT)
+                    .map(i -> ServerSentEvent.<String>builder().comment("keep-alive").build());
+            return Mono.fromCallable(() -> event("snapshot", snapshot.get()))
+                    .concatWith(Flux.merge(live, heartbeat))
+                    .doFinally(signal -> {
+                        connection.dispose();
+                        release(showtimeId, channel);
+                    });
+        });
+    }
+
+    /** Number of showtimes with at least one subscriber. */
+    public int watchedShowtimes() {
+        return channels.size();
+    }
+
+    private Channel acquire(String showtimeId) {
+        return channels.compute(showtimeId, (id, channel) -> {
+            Channel c = channel != null ? channel : new Channel();
+            c.subscribers++;
+            return c;
+        });
+    }
+
+    private void release(String showtimeId, Channel channel) {
+        channels.computeIfPresent(showtimeId, (id, c) -> {
+            if (c != channel || --c.subscribers > 0) {
+                return c;
+            }
+            c.sink.tryEmitComplete();
+            return null;
+        });
+    }
+
+    private ServerSentEvent<String> event(String name, Object data) throws JsonProcessingException {
+        return ServerSentEvent.<String>builder().event(name).data(json.writeValueAsString(data)).build();
+    }
+
+    private static final class Channel {
+        final Sinks.Many<ServerSentEvent<String>> sink = Sinks.many().multicast().directBestEffort();
+        // Only read or written inside channels.compute
+        int subscribers;
+    }
+}
@@ -0,0 +1,353 @@
+package edu.uga.csci4050.cinema.service;
+
+import edu.uga.csci4050.cinema.model.SeatHold;
+import edu.uga.csci4050.cinema.repository.SeatHoldRepository;
+import edu.uga.csci4050.cinema.repository.ShowroomRepository;
+import edu.uga.csci4050.cinema.repository.ShowtimeRepository;
+import edu.uga.csci4050.cinema.type.SeatMap;
+import edu.uga.csci4050.cinema.type.Showtime;
+import edu.uga.csci4050.cinema.util.TokenUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seat holds for in-progress checkouts.
+ *
+ * Live holds are kept in memory: a token -> hold map, a per-showtime seat ->
+ * token map used to claim seats without locking, and a timing wheel that
+ * expires them. Each hold is also written to the TTL-indexed seat_holds
+ * collection so a restart can rebuild the in-memory state.
+ *
+ * A hold covers at most maxSeats seats and each user may have at most
+ * maxHoldsPerHolder live holds, so no one can keep a room off sale by
+ * holding it and renewing.
+ */
+@Service
+public class SeatHoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldService.class);
+
+    private final SeatHoldRepository holdRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final ShowroomRepository showroomRepository;
+    private final SeatEvents seatEvents;
+    private final Duration ttl;
+    private final int maxSeats;
+    private final int maxHoldsPerHolder;
+
+    private final Map<String, SeatHold> holds = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> seatOwners = new ConcurrentHashMap<>();
+    // Holder email -> tokens of their holds; each set is only touched inside compute
+    private final Map<String, Set<String>> holderTokens = new ConcurrentHashMap<>();
+    private final HoldExpiryWheel wheel = new HoldExpiryWheel(1000, 512, Instant.now());
+
+    public SeatHoldService(SeatHoldRepository holdRepository, ShowtimeRepository showtimeRepository,
+            ShowroomRepository showroomRepository, SeatEvents seatEvents,
+            @Value("${app.holds.ttl-minutes:8}") long ttlMinutes,
+            @Value("${app.holds.max-seats:10}") int maxSeats,
+            @Value("${app.holds.max-per-user:2}") int maxHoldsPerHolder) {
+        this.holdRepository = holdRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.showroomRepository = showroomRepository;
+        this.seatEvents = seatEvents;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.maxSeats = maxSeats;
+        this.maxHoldsPerHolder = maxHoldsPerHolder;
+    }
+
+    /**
+     * Rebuild in-memory state from holds that had not expired at shutdown.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        for (SeatHold hold : holdRepository.findByExpiresAtAfter(Instant.now())) {
+            holds.put(hold.getToken(), hold);
+            if (claimSeats(hold)) {
+                takeHolderSlot(hold, Integer.MAX_VALUE);
+                wheel.schedule(hold.getToken(), hold.getExpiresAt());
+            } else {
+                holds.remove(hold.getToken());
+            }
+        }
+    }
+
+    /**
+     * Hold the given seats on a showtime for the configured TTL.
+     *
+     * @throws ResponseStatusException 404 if the showtime does not exist, 409 if
+     *                                 it has started, a seat is already sold or
+     *                                 held by someone else, or more than
+     *                                 maxSeats are requested, 429 if the holder
+     *                                 already has maxHoldsPerHolder live holds
+     */
+    public SeatHold hold(String showtimeId, Collection<String> seats, String holderEmail) {
+        if (seats == null || seats.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No seats requested");
+        }
+        if (new HashSet<>(seats).size() > maxSeats) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "At most " + maxSeats + " seats can be held");
+        }
+        Showtime st = showtimeRepository.findById(showtimeId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Showtime not found"));
+        if (st.start() == null || !st.start().isAfter(Instant.now())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Showtime has already started");
+        }
+
+        SeatMap seatMap = showroomRepository.findSeatMap(st.roomId()).orElse(null);
+        if (seatMap != null && st.soldSeats() != null) {
+            long[] requested;
+            try {
+                requested = seatMap.mask(seats);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+            if (SeatMap.intersects(st.soldSeats(), requested)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Seat already booked");
+            }
+        } else if (st.bookedSeats() != null) {
+            Set<String> sold = new HashSet<>(Arrays.asList(st.bookedSeats()));
+            for (String seat : seats) {
+                if (sold.contains(seat)) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "Seat already booked: " + seat);
+                }
+            }
+        }
+
+        Instant now = Instant.now();
+        SeatHold hold = new SeatHold();
+        hold.setToken(TokenUtil.newUrlToken());
+        hold.setShowtimeId(showtimeId);
+        hold.setRoomId(st.roomId());
+        hold.setMovieId(st.movieId());
+        hold.setStart(st.start());
+        hold.setSeats(List.copyOf(new HashSet<>(seats)));
+        hold.setHolderEmail(holderEmail);
+        hold.setCreatedAt(now);
+        hold.setExpiresAt(now.plus(ttl));
+
+        // Publish the hold before claiming so concurrent claimers never mistake it for stale
+        holds.put(hold.getToken(), hold);
+        if (!takeHolderSlot(hold, maxHoldsPerHolder)) {
+            holds.remove(hold.getToken());
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "At most " + maxHoldsPerHolder + " seat holds at a time");
+        }
+        if (!claimSeats(hold)) {
+            holds.remove(hold.getToken());
+            freeHolderSlot(hold);
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Seat is held by another customer");
+        }
+        wheel.schedule(hold.getToken(), hold.getExpiresAt());
+        holdRepository.save(hold);
+        seatEvents.publish(showtimeId, SeatEvents.Kind.HELD, hold.getSeats());
+        return hold;
+    }
+
+    /**
+     * Look up a live hold owned by the given user.
+     */
+    public Optional<SeatHold> find(String token, String holderEmail) {
+        SeatHold hold = token == null ? null : holds.get(token);
+        if (hold == null || hold.isExpired(Instant.now()) || !hold.getHolderEmail().equals(holderEmail)) {
+            return Optional.empty();
+        }
+        return Optional.of(hold);
+    }
+
+    /**
+     * Drop a hold released by its owner; its seats become available again.
+     */
+    public boolean release(String token, String holderEmail) {
+        SeatHold hold = holds.get(token);
+        if (hold == null || !hold.getHolderEmail().equals(holderEmail)) {
+            return false;
+        }
+        if (drop(hold)) {
+            seatEvents.publish(hold.getShowtimeId(), SeatEvents.Kind.RELEASED, hold.getSeats());
+        }
+        return true;
+    }
+
+    /**
+     * Drop a hold that was converted to a sale. No release is announced,
+     * since its seats are now sold.
+     */
+    public boolean consume(String token, String holderEmail) {
+        SeatHold hold = holds.get(token);
+        if (hold == null || !hold.getHolderEmail().equals(holderEmail)) {
+            return false;
+        }
+        drop(hold);
+        return true;
+    }
+
+    /**
+     * Seats currently held on a showtime, by anyone.
+     */
+    public Set<String> heldSeats(String showtimeId) {
+        Map<String, String> owners = seatOwners.get(showtimeId);
+        if (owners == null) {
+            return Set.of();
+        }
+        Set<String> held = new HashSet<>();
+        owners.forEach((seat, token) -> {
+            if (!isStale(token)) {
+                held.add(seat);
+            }
+        });
+        return held;
+    }
+
+    /**
+     * True if any of the seats is currently held by a different user.
+     */
+    public boolean isHeldByOther(String showtimeId, Collection<String> seats, String email) {
+        if (showtimeId == null) {
+            return false;
+        }
+        Map<String, String> owners = seatOwners.get(showtimeId);
+        if (owners == null) {
+            return false;
+        }
+        Instant now = Instant.now();
+        for (String seat : seats) {
+            String token = owners.get(seat);
+            SeatHold hold = token == null ? null : holds.get(token);
+            // Expired holds the wheel has not swept yet no longer block anyone
+            if (hold != null && !hold.isExpired(now) && !hold.getHolderEmail().equals(email)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int activeHolds() {
+        return holds.size();
+    }
+
+    // Showtimes with at least one claimed seat
+    int trackedShowtimes() {
+        return seatOwners.size();
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void expire() {
+        for (String token : wheel.advance(Instant.now())) {
+            SeatHold hold = holds.get(token);
+            if (hold != null && drop(hold)) {
+                seatEvents.publish(hold.getShowtimeId(), SeatEvents.Kind.RELEASED, hold.getSeats());
+            }
+        }
+    }
+
+    /**
+     * Claim every seat for this hold or none of them.
+     */
+    private boolean claimSeats(SeatHold hold) {
+        while (true) {
+            Map<String, String> owners = seatOwners.computeIfAbsent(hold.getShowtimeId(),
+                    k -> new ConcurrentHashMap<>());
+            if (!claimSeats(owners, hold)) {
+                return false;
+            }
+            // drop() may have retired this map while we were claiming; start over on the live one.
+            // Checked under the same bin lock drop() retires it with.
+            boolean[] live = new boolean[1];
+            seatOwners.computeIfPresent(hold.getShowtimeId(), (k, m) -> {
+                live[0] = m == owners;
+                return m;
+            });
+            if (live[0]) {
+                return true;
+            }
+            hold.getSeats().forEach(s -> owners.remove(s, hold.getToken()));
+        }
+    }
+
+    private boolean claimSeats(Map<String, String> owners, SeatHold hold) {
+        List<String> claimed = new ArrayList<>();
+        for (String seat : hold.getSeats()) {
+            String previous = owners.putIfAbsent(seat, hold.getToken());
+            if (previous != null && !isStale(previous)) {
+                claimed.forEach(s -> owners.remove(s, hold.getToken()));
+                return false;
+            }
+            if (previous != null) {
+                // Expired hold the wheel has not swept yet
+                if (!owners.replace(seat, previous, hold.getToken())) {
+                    claimed.forEach(s -> owners.remove(s, hold.getToken()));
+                    return false;
+                }
+            }
+            claimed.add(seat);
+        }
+        return true;
+    }
+
+    /** Count the hold against its holder unless they already have limit live holds. */
+    private boolean takeHolderSlot(SeatHold hold, int limit) {
+        boolean[] taken = new boolean[1];
+        holderTokens.compute(hold.getHolderEmail(), (k, tokens) -> {
+            Set<String> live = tokens != null ? tokens : new HashSet<>();
+            live.removeIf(this::isStale);
+            if (live.size() < limit) {
+                live.add(hold.getToken());
+                taken[0] = true;
+            }
+            return live.isEmpty() ? null : live;
+        });
+        return taken[0];
+    }
+
+    private void freeHolderSlot(SeatHold hold) {
+        holderTokens.computeIfPresent(hold.getHolderEmail(), (k, tokens) -> {
+            tokens.remove(hold.getToken());
+            return tokens.isEmpty() ? null : tokens;
+        });
+    }
+
+    private boolean isStale(String token) {
+        SeatHold hold = holds.get(token);
+        return hold == null || hold.isExpired(Instant.now());
+    }
+
+    // False if the hold was already gone
+    private boolean drop(SeatHold hold) {
+        if (holds.remove(hold.getToken()) == null) {
+            return false;
+        }
+        freeHolderSlot(hold);
+        Map<String, String> owners = seatOwners.get(hold.getShowtimeId());
+        if (owners != null) {
+            hold.getSeats().forEach(s -> owners.remove(s, hold.getToken()));
+            // Retire the map once empty; a claimer that raced with this re-checks and retries
+            seatOwners.computeIfPresent(hold.getShowtimeId(), (k, m) -> m.isEmpty() ? null : m);
+        }
+        try {
+            holdRepository.deleteById(hold.getToken());
+        } catch (Exception e) {
+            // TTL index cleans it up anyway
+            log.warn("Failed to delete seat hold {}: {}", hold.getToken(), e.getMessage());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,180 @@
+package edu.uga.csci4050.cinema.service;
+
+import edu.uga.csci4050.cinema.repository.ShowtimeRepository;
+import edu.uga.csci4050.cinema.type.ShowtimeSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Maintained sets of now-showing and upcoming movie ids.
+ *
+ * A movie is upcoming while it has showtimes but none has started yet, and now
+ * showing from its first start until its last showtime is over (last start
+ * plus run-minutes; movies carry no runtime of their own). After that it is in
+ * neither set. The sets are loaded from the showtimes collection at startup
+ * and updated when showtimes are added or removed. A tick re-classifies movies
+ * as their showtimes start and end. Readers get live views and never query
+ * Mongo.
+ *
+ * Writers are serialized by a ReentrantLock rather than the monitor because
+ * rebuild holds it across a Mongo query; a request thread waiting on it
+ * then parks instead of pinning its carrier when running on virtual threads.
+ */
+@Service
+public class ShowingsProjection {
+
+    private final ShowtimeRepository showtimes;
+
+    // Start times per movie, with a count for showtimes sharing a start
+    private final Map<String, TreeMap<Instant, Integer>> startsByMovie = new HashMap<>();
+    // Future starts and ends still to be reached by the tick
+    private final TreeMap<Instant, Set<String>> pending = new TreeMap<>();
+    private final Duration run;
+
+    private final Set<String> nowShowing = ConcurrentHashMap.newKeySet();
+    private final Set<String> upcoming = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ShowingsProjection(ShowtimeRepository showtimes,
+            @Value("${app.showings.run-minutes:180}") long runMinutes) {
+        this.showtimes = showtimes;
+        this.run = Duration.ofMinutes(runMinutes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.lock();
+        try {
+            startsByMovie.clear();
+            pending.clear();
+            nowShowing.clear();
+            upcoming.clear();
+            for (ShowtimeSummary st : showtimes.findSummaries(null, null, null)) {
+                addStart(st.movieId(), st.start());
+            }
+            Instant now = Instant.now();
+            startsByMovie.keySet().forEach(movieId -> classify(movieId, now));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void showtimeAdded(String movieId, Instant start) {
+        if (movieId == null || start == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            addStart(movieId, start);
+            classify(movieId, Instant.now());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void showtimeRemoved(String movieId, Instant start) {
+        lock.lock();
+        try {
+            TreeMap<Instant, Integer> starts = movieId == null ? null : startsByMovie.get(movieId);
+            if (starts == null || start == null || !starts.containsKey(start)) {
+                return;
+            }
+            if (starts.merge(start, -1, Integer::sum) <= 0) {
+                starts.remove(start);
+                // Keep wake-ups another start still needs: its own start or its end
+                if (!starts.containsKey(start.minus(run))) {
+                    unwake(start, movieId);
+                }
+                if (!starts.containsKey(start.plus(run))) {
+                    unwake(start.plus(run), movieId);
+                }
+            }
+            if (starts.isEmpty()) {
+                startsByMovie.remove(movieId);
+            }
+            classify(movieId, Instant.now());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Re-classify movies whose showtimes have started or ended since the last tick. */
+    @Scheduled(fixedDelayString = "${app.showings.tick-ms:30000}")
+    public void tick() {
+        lock.lock();
+        try {
+            Instant now = Instant.now();
+            Iterator<Map.Entry<Instant, Set<String>>> due = pending.headMap(now, true).entrySet().iterator();
+            Set<String> touched = new HashSet<>();
+            while (due.hasNext()) {
+                touched.addAll(due.next().getValue());
+                due.remove();
+            }
+            touched.forEach(movieId -> classify(movieId, now));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Set<String> nowShowing() {
+        return Collections.unmodifiableSet(nowShowing);
+    }
+
+    public Set<String> upcoming() {
+        return Collections.unmodifiableSet(upcoming);
+    }
+
+    private void addStart(String movieId, Instant start) {
+        startsByMovie.computeIfAbsent(movieId, k -> new TreeMap<>()).merge(start, 1, Integer::sum);
+        Instant now = Instant.now();
+        wakeAt(start, movieId, now);
+        wakeAt(start.plus(run), movieId, now);
+    }
+
+    private void wakeAt(Instant at, String movieId, Instant now) {
+        if (at.isAfter(now)) {
+            pending.computeIfAbsent(at, k -> new HashSet<>()).add(movieId);
+        }
+    }
+
+    private void unwake(Instant at, String movieId) {
+        Set<String> movies = pending.get(at);
+        if (movies != null) {
+            movies.remove(movieId);
+            if (movies.isEmpty()) {
+                pending.remove(at);
+            }
+        }
+    }
+
+    private void classify(String movieId, Instant now) {
+        TreeMap<Instant, Integer> starts = startsByMovie.get(movieId);
+        if (starts == null || starts.isEmpty() || !starts.lastKey().plus(run).isAfter(now)) {
+            // No showtimes, or the last one is over
+            nowShowing.remove(movieId);
+            upcoming.remove(movieId);
+        } else if (!starts.firstKey().isAfter(now)) {
+            upcoming.remove(movieId);
+            nowShowing.add(movieId);
+        } else {
+            nowShowing.remove(movieId);
+            upcoming.add(movieId);
+        }
+    }
+}
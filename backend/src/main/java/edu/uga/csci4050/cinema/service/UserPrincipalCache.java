@@ -0,0 +1,50 @@
+package edu.uga.csci4050.cinema.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.uga.csci4050.cinema.repository.UserRepository;
+import edu.uga.csci4050.cinema.type.UserPrincipalView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Short-lived per-node cache of the identity projection, keyed by email.
+ *
+ * Writes that change a user's name, role or status invalidate the entry on
+ * this node; other nodes see the change once their entry expires.
+ */
+@Service
+public class UserPrincipalCache {
+
+    private final UserRepository users;
+    private final Cache<String, Optional<UserPrincipalView>> byEmail;
+
+    public UserPrincipalCache(UserRepository users,
+            @Value("${app.users.principal-cache.max-size:10000}") long maxSize,
+            @Value("${app.users.principal-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.users = users;
+        this.byEmail = Caffeine.newBuilder().maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds)).build();
+    }
+
+    public Optional<UserPrincipalView> get(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return byEmail.get(key(email), users::findPrincipalByEmail);
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            byEmail.invalidate(key(email));
+        }
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
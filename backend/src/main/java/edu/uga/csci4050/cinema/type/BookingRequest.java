@@ -6,8 +6,9 @@ import java.util.Map;
  * BookingRequest sent from the frontend when confirming a booking.
  * Includes the showtime, the seats being reserved, optional ticket counts
  * (e.g. adult/child/senior), and the selected payment card ID to persist
- * payment details with the ticket.
+ * payment details with the ticket. If the seats were held during checkout,
+ * holdToken converts that hold into the sale.
  */
 public record BookingRequest(Showtime showtime, String[] seats, Map<String, Integer> ticketCounts,
-        String paymentCardId) {
+        String paymentCardId, String holdToken) {
 }
@@ -0,0 +1,9 @@
+package edu.uga.csci4050.cinema.type;
+
+import java.util.List;
+
+/**
+ * What a movie grid needs: no cast, reviews or synopsis.
+ */
+public record MovieSummary(String id, String title, String poster, RatingCode rating, List<String> genres) {
+}
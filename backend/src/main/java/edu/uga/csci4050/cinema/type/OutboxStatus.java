@@ -0,0 +1,8 @@
+package edu.uga.csci4050.cinema.type;
+
+public enum OutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
@@ -0,0 +1,171 @@
+package edu.uga.csci4050.cinema.type;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Seat layout of a showroom (rows x seats per row) and the bitmap encoding of
+ * seats on it. Seat "B3" is bit (1 * seatsPerRow + 2); bits are packed into
+ * 64-bit words, so a 300-seat room needs five longs (40 bytes).
+ * Row labels run A..Z, then AA, AB, ... for larger rooms.
+ */
+public final class SeatMap {
+
+    private final int rows;
+    private final int seatsPerRow;
+
+    public SeatMap(int rows, int seatsPerRow) {
+        if (rows <= 0 || seatsPerRow <= 0) {
+            throw new IllegalArgumentException("Seat layout must have at least one row and one seat per row");
+        }
+        this.rows = rows;
+        this.seatsPerRow = seatsPerRow;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getSeatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public int capacity() {
+        return rows * seatsPerRow;
+    }
+
+    /** Number of 64-bit words needed for a bitmap of this layout. */
+    public int words() {
+        return (capacity() + 63) >>> 6;
+    }
+
+    public long[] empty() {
+        return new long[words()];
+    }
+
+    /**
+     * Bit index of a seat label, or -1 if the label is not on this layout.
+     */
+    public int indexOf(String label) {
+        if (label == null || label.isEmpty()) {
+            return -1;
+        }
+        int i = 0;
+        int row = 0;
+        while (i < label.length() && Character.isLetter(label.charAt(i))) {
+            char c = Character.toUpperCase(label.charAt(i));
+            if (c < 'A' || c > 'Z') {
+                return -1;
+            }
+            row = row * 26 + (c - 'A' + 1);
+            i++;
+        }
+        if (i == 0 || i == label.length()) {
+            return -1;
+        }
+        int number;
+        try {
+            number = Integer.parseInt(label.substring(i));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        row -= 1;
+        if (row >= rows || number < 1 || number > seatsPerRow) {
+            return -1;
+        }
+        return row * seatsPerRow + (number - 1);
+    }
+
+    public String labelOf(int index) {
+        int row = index / seatsPerRow + 1;
+        int number = index % seatsPerRow + 1;
+        StringBuilder sb = new StringBuilder();
+        while (row > 0) {
+            row--;
+            sb.insert(0, (char) ('A' + row % 26));
+            row /= 26;
+        }
+        return sb.append(number).toString();
+    }
+
+    /**
+     * Bitmap with the given seats set.
+     *
+     * @throws IllegalArgumentException if a label is not on this layout
+     */
+    public long[] mask(Collection<String> labels) {
+        long[] mask = empty();
+        for (String label : labels) {
+            int index = indexOf(label);
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown seat: " + label);
+            }
+            mask[index >>> 6] |= 1L << (index & 63);
+        }
+        return mask;
+    }
+
+    /**
+     * Like {@link #mask(Collection)} but silently skips labels that are not on
+     * the layout (used when converting legacy seat lists).
+     */
+    public long[] maskIgnoringUnknown(Collection<String> labels) {
+        long[] mask = empty();
+        for (String label : labels) {
+            int index = indexOf(label);
+            if (index >= 0) {
+                mask[index >>> 6] |= 1L << (index & 63);
+            }
+        }
+        return mask;
+    }
+
+    public List<String> labels(long[] bitmap) {
+        List<String> out = new ArrayList<>();
+        for (int w = 0; w < bitmap.length; w++) {
+            long word = bitmap[w];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                int index = (w << 6) + bit;
+                if (index < capacity()) {
+                    out.add(labelOf(index));
+                }
+                word &= word - 1;
+            }
+        }
+        return out;
+    }
+
+    public static boolean intersects(long[] a, long[] b) {
+        int n = Math.min(a.length, b.length);
+        for (int i = 0; i < n; i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Bit positions set in one word, as used by $bitsAllClear. */
+    public static List<Integer> positions(long word) {
+        List<Integer> out = new ArrayList<>(Long.bitCount(word));
+        while (word != 0) {
+            out.add(Long.numberOfTrailingZeros(word));
+            word &= word - 1;
+        }
+        return out;
+    }
+
+    /** Little-endian byte encoding of a bitmap (8 bytes per word). */
+    public static byte[] toBytes(long[] bitmap) {
+        byte[] out = new byte[bitmap.length * 8];
+        for (int w = 0; w < bitmap.length; w++) {
+            long word = bitmap[w];
+            for (int b = 0; b < 8; b++) {
+                out[w * 8 + b] = (byte) (word >>> (b * 8));
+            }
+        }
+        return out;
+    }
+}
@@ -2,10 +2,35 @@ package edu.uga.csci4050.cinema.type;
 
 import java.time.Instant;
 
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
- * Showtime record.
+ * Showtime record, stored one document per showtime in the showtimes
+ * collection (indexed by movie and by room, both with start). A room shows a
+ * given movie at a given start at most once.
  * Uses Instant for start time to ensure UTC consistency.
  * Use DateTimeUtil for conversions to/from user-friendly formats.
+ * soldSeats is the sold-seat bitmap over the showroom's SeatMap (null when
+ * the showroom has no layout). Once a showtime has a bitmap its sales are
+ * only recorded there; bookedSeats holds seat labels for showtimes without
+ * one. The bitmap is not serialized here (64-bit words do not survive JSON in the
+ * browser); clients read it from GET /api/showtimes/{id}/seatmap.
  */
-public record Showtime(String movieId, Instant start, String[] bookedSeats, String roomId) {
+@Document(collection = "showtimes")
+@CompoundIndexes({
+        @CompoundIndex(name = "movie_start", def = "{'movieId': 1, 'start': 1}"),
+        @CompoundIndex(name = "room_start", def = "{'roomId': 1, 'start': 1}"),
+        @CompoundIndex(name = "room_movie_start", def = "{'roomId': 1, 'movieId': 1, 'start': 1}", unique = true)
+})
+public record Showtime(@Id String id, String movieId, Instant start, String[] bookedSeats, String roomId,
+        @JsonIgnore long[] soldSeats) {
+
+    public Showtime(String movieId, Instant start, String[] bookedSeats, String roomId) {
+        this(null, movieId, start, bookedSeats, roomId, null);
+    }
 }
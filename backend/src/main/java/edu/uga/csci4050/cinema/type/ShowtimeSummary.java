@@ -0,0 +1,9 @@
+package edu.uga.csci4050.cinema.type;
+
+import java.time.Instant;
+
+/**
+ * Slim view of a showtime for listings: no seat data.
+ */
+public record ShowtimeSummary(String id, String movieId, String roomId, Instant start) {
+}
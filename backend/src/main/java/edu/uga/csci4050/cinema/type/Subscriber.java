@@ -0,0 +1,7 @@
+package edu.uga.csci4050.cinema.type;
+
+/**
+ * Projection of a user for mailing lists: only what a mail needs.
+ */
+public record Subscriber(String email, String name) {
+}
@@ -0,0 +1,10 @@
+package edu.uga.csci4050.cinema.type;
+
+import edu.uga.csci4050.cinema.model.User;
+
+/**
+ * Projection of a user for identity checks: who they are and whether they may
+ * act, without the password hash, tokens, cards or addresses.
+ */
+public record UserPrincipalView(String id, String email, String name, User.Role role, User.Status status) {
+}
@@ -1,15 +1,29 @@
 package edu.uga.csci4050.cinema.util;
 
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.UpdateOptions;
+import edu.uga.csci4050.cinema.model.Showroom;
+import edu.uga.csci4050.cinema.type.SeatMap;
+import edu.uga.csci4050.cinema.type.Showtime;
 import org.bson.Document;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Database migration utility for converting old date/time formats to Instant.
@@ -130,6 +144,201 @@ public class DatabaseMigrationUtil {
         }
     }
 
+    /**
+     * Move showtimes embedded in showroom documents into the showtimes
+     * collection. Showtimes get their showroom's id as roomId; ones already
+     * copied are left as they are. Showtimes without an id are matched on
+     * room, movie and start, and get a UUID only when first copied, so a
+     * re-run after an interrupted migration does not copy them again. The
+     * embedded list is removed from each showroom once its showtimes have been
+     * copied.
+     */
+    public void splitShowtimes() {
+        MongoDatabase db = mongoTemplate.getDb();
+        MongoCollection<Document> showrooms = db.getCollection("showrooms");
+        MongoCollection<Document> showtimes = db.getCollection("showtimes");
+
+        for (Document room : showrooms.find(new Document("showtimes", new Document("$exists", true)))) {
+            if (room.get("showtimes") instanceof List<?> embedded) {
+                for (Object item : embedded) {
+                    if (!(item instanceof Document st)) {
+                        continue;
+                    }
+                    // Embedded ids may have been stored as either _id or id
+                    Object id = st.get("_id") != null ? st.get("_id") : st.get("id");
+                    Document fields = new Document(st);
+                    fields.remove("_id");
+                    fields.remove("id");
+                    fields.remove("_class");
+                    if (fields.get("roomId") == null) {
+                        fields.put("roomId", room.get("_id").toString());
+                    }
+                    Document filter;
+                    if (id != null) {
+                        filter = new Document("_id", id.toString());
+                    } else {
+                        // The upsert copies room, movie and start from the filter
+                        filter = new Document("roomId", fields.remove("roomId"))
+                                .append("movieId", fields.remove("movieId"))
+                                .append("start", fields.remove("start"));
+                        fields.put("_id", UUID.randomUUID().toString());
+                    }
+                    try {
+                        showtimes.updateOne(filter, new Document("$setOnInsert", fields),
+                                new UpdateOptions().upsert(true));
+                    } catch (MongoWriteException e) {
+                        if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                            throw e;
+                        }
+                        // Same room, movie and start already stored under another id
+                    }
+                }
+            }
+            showrooms.updateOne(
+                    new Document("_id", room.get("_id")),
+                    new Document("$unset", new Document("showtimes", "")));
+        }
+    }
+
+    /**
+     * Merge showtimes that share a room, movie and start into one, so the
+     * unique room_movie_start index can be built. The showtime with the
+     * smallest id is kept; it takes the union of the others' booked seats and
+     * sold-seat bitmaps, and tickets pointing at the others are moved to it.
+     * Run after splitShowtimes and before the indexes are created.
+     */
+    public void dedupeShowtimes() {
+        MongoDatabase db = mongoTemplate.getDb();
+        MongoCollection<Document> showtimes = db.getCollection("showtimes");
+        MongoCollection<Document> tickets = db.getCollection("tickets");
+
+        List<Document> pipeline = List.of(
+                new Document("$sort", new Document("_id", 1)),
+                new Document("$group", new Document("_id", new Document("roomId", "$roomId")
+                        .append("movieId", "$movieId").append("start", "$start"))
+                        .append("ids", new Document("$push", "$_id"))
+                        .append("count", new Document("$sum", 1))),
+                new Document("$match", new Document("count", new Document("$gt", 1))));
+        for (Document group : showtimes.aggregate(pipeline)) {
+            List<Object> ids = group.getList("ids", Object.class);
+            Object keptId = ids.get(0);
+            List<Object> dropped = ids.subList(1, ids.size());
+
+            Set<String> booked = new LinkedHashSet<>();
+            long[] sold = null;
+            for (Document st : showtimes.find(new Document("_id", new Document("$in", ids)))) {
+                List<String> labels = st.getList("bookedSeats", String.class);
+                if (labels != null) {
+                    booked.addAll(labels);
+                }
+                List<Long> words = st.getList("soldSeats", Long.class);
+                if (words != null) {
+                    sold = or(sold, words);
+                }
+            }
+
+            Document set = new Document("bookedSeats", new ArrayList<>(booked));
+            if (sold != null) {
+                List<Long> words = new ArrayList<>(sold.length);
+                for (long word : sold) {
+                    words.add(word);
+                }
+                set.append("soldSeats", words);
+            }
+            showtimes.updateOne(new Document("_id", keptId), new Document("$set", set));
+            tickets.updateMany(new Document("showtimeId", new Document("$in", dropped)),
+                    new Document("$set", new Document("showtimeId", keptId)));
+            showtimes.deleteMany(new Document("_id", new Document("$in", dropped)));
+        }
+    }
+
+    private static long[] or(long[] into, List<Long> words) {
+        long[] out = into == null || into.length < words.size() ? new long[words.size()] : into;
+        if (into != null && out != into) {
+            System.arraycopy(into, 0, out, 0, into.length);
+        }
+        for (int i = 0; i < words.size(); i++) {
+            out[i] |= words.get(i);
+        }
+        return out;
+    }
+
+    /**
+     * Build the soldSeats bitmap from bookedSeats for showtimes in showrooms
+     * that have a seat layout. Seats on the layout move into the bitmap;
+     * labels that are not on the layout stay in bookedSeats.
+     *
+     * Each showtime is converted with a conditional update on the bookedSeats
+     * it was read with, so a booking that lands while the migration runs is
+     * never overwritten; the showtime is simply read and converted again.
+     */
+    public void buildSeatMaps() {
+        for (Showroom showroom : mongoTemplate.findAll(Showroom.class)) {
+            SeatMap seatMap = showroom.seatMap();
+            if (seatMap == null) {
+                continue;
+            }
+            Query pending = new Query(Criteria.where("roomId").is(showroom.getId()).and("soldSeats").exists(false));
+            for (Showtime st : mongoTemplate.find(pending, Showtime.class)) {
+                Showtime current = st;
+                while (current != null && !convertToSeatMap(current, seatMap)) {
+                    current = mongoTemplate.findOne(new Query(Criteria.where("_id").is(st.id())
+                            .and("soldSeats").exists(false)), Showtime.class);
+                }
+            }
+        }
+    }
+
+    // False if the showtime's bookedSeats changed since it was read
+    private boolean convertToSeatMap(Showtime st, SeatMap seatMap) {
+        List<String> booked = st.bookedSeats() != null ? List.of(st.bookedSeats()) : List.of();
+        List<String> unknown = booked.stream().filter(label -> seatMap.indexOf(label) < 0).toList();
+
+        Query unchanged = new Query(Criteria.where("_id").is(st.id()).and("soldSeats").exists(false)
+                .and("bookedSeats").is(st.bookedSeats() != null ? booked : null));
+        Update update = new Update().set("soldSeats", seatMap.maskIgnoringUnknown(booked));
+        if (unknown.isEmpty()) {
+            update.unset("bookedSeats");
+        } else {
+            update.set("bookedSeats", unknown);
+        }
+        return mongoTemplate.updateFirst(unchanged, update, Showtime.class).getMatchedCount() > 0;
+    }
+
+    /**
+     * Move ticket records embedded in user documents into the tickets
+     * collection, keyed by ticket number and tagged with the owner's email.
+     * Tickets already copied are left as they are. The embedded list is
+     * removed from each user once its tickets have been copied.
+     */
+    public void moveTickets() {
+        MongoDatabase db = mongoTemplate.getDb();
+        MongoCollection<Document> users = db.getCollection("users");
+        MongoCollection<Document> tickets = db.getCollection("tickets");
+
+        for (Document user : users.find(new Document("tickets", new Document("$exists", true)))) {
+            if (user.get("tickets") instanceof List<?> embedded) {
+                for (Object item : embedded) {
+                    if (!(item instanceof Document t)) {
+                        continue;
+                    }
+                    Object number = t.get("ticketNumber");
+                    Document fields = new Document(t);
+                    fields.remove("ticketNumber");
+                    fields.remove("_class");
+                    fields.put("userEmail", user.getString("email"));
+                    tickets.updateOne(
+                            new Document("_id", number != null ? number.toString() : UUID.randomUUID().toString()),
+                            new Document("$setOnInsert", fields),
+                            new UpdateOptions().upsert(true));
+                }
+            }
+            users.updateOne(
+                    new Document("_id", user.get("_id")),
+                    new Document("$unset", new Document("tickets", "")));
+        }
+    }
+
     /**
      * Convert various date/time types to Instant.
      */
@@ -201,6 +410,18 @@ public class DatabaseMigrationUtil {
         System.out.println("3. Migrating showrooms...");
         migrateShowrooms();
 
+        System.out.println("4. Splitting showtimes out of showrooms...");
+        splitShowtimes();
+
+        System.out.println("5. Merging duplicate showtimes...");
+        dedupeShowtimes();
+
+        System.out.println("6. Building seat maps...");
+        buildSeatMaps();
+
+        System.out.println("7. Moving tickets out of users...");
+        moveTickets();
+
         System.out.println("All migrations completed!");
     }
 }
@@ -0,0 +1,35 @@
+package edu.uga.csci4050.cinema;
+
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+/**
+ * One embedded mongod per test JVM, for Spring tests that need a real
+ * database. Register it from a @DynamicPropertySource method; each test class
+ * names its own database so cached contexts (and their schedulers) never see
+ * each other's data. The mongod binary is downloaded on first use and cached.
+ */
+public final class EmbeddedMongo {
+
+    private static TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+
+    private EmbeddedMongo() {
+    }
+
+    public static void register(DynamicPropertyRegistry registry, String database) {
+        registry.add("spring.data.mongodb.uri", EmbeddedMongo::uri);
+        registry.add("spring.data.mongodb.database", () -> database);
+    }
+
+    public static synchronized String uri() {
+        if (mongod == null) {
+            mongod = Mongod.instance().start(Version.Main.V6_0);
+            Runtime.getRuntime().addShutdownHook(new Thread(mongod::close));
+        }
+        var address = mongod.current().getServerAddress();
+        return "mongodb://" + address.getHost() + ":" + address.getPort();
+    }
+}
@@ -0,0 +1,104 @@
+package edu.uga.csci4050.cinema.controller;
+
+import edu.uga.csci4050.cinema.repository.ReactiveMovieRepository;
+import edu.uga.csci4050.cinema.repository.ReactiveShowtimeRepository;
+import edu.uga.csci4050.cinema.service.ShowingsProjection;
+import edu.uga.csci4050.cinema.type.MovieSummary;
+import edu.uga.csci4050.cinema.type.ShowtimeSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * NDJSON and SSE output of the streaming catalog, and its range checks.
+ */
+class CatalogStreamControllerTest {
+
+    private static final Instant T0 = Instant.parse("2030-01-01T18:00:00Z");
+
+    private final ReactiveMovieRepository movies = mock(ReactiveMovieRepository.class);
+    private final ReactiveShowtimeRepository showtimes = mock(ReactiveShowtimeRepository.class);
+    private final MockMvc mvc = MockMvcBuilders
+            .standaloneSetup(new CatalogStreamController(movies, showtimes, mock(ShowingsProjection.class)))
+            .build();
+
+    @Test
+    void moviesStreamAsOneJsonObjectPerLine() throws Exception {
+        when(movies.findSummariesBy(any(Sort.class))).thenReturn(Flux.just(
+                new MovieSummary("m1", "Alien", "alien.jpg", null, List.of("Horror")),
+                new MovieSummary("m2", "Heat", "heat.jpg", null, List.of("Crime"))));
+
+        String body = stream("/api/catalog/movies", MediaType.APPLICATION_NDJSON);
+
+        String[] lines = body.strip().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{").contains("\"id\":\"m1\"", "\"title\":\"Alien\"");
+        assertThat(lines[1]).contains("\"id\":\"m2\"");
+    }
+
+    @Test
+    void showroomShowtimesStreamAsServerSentEventsWithoutSeats() throws Exception {
+        when(showtimes.findByRoomIdOrderByStartAsc("r1")).thenReturn(Flux.just(
+                new ShowtimeSummary("st1", "m1", "r1", T0),
+                new ShowtimeSummary("st2", "m2", "r1", T0.plusSeconds(3600))));
+
+        String body = stream("/api/catalog/showrooms/r1/showtimes", MediaType.TEXT_EVENT_STREAM);
+
+        assertThat(body).contains("data:{\"id\":\"st1\"", "data:{\"id\":\"st2\"");
+        assertThat(body).doesNotContain("bookedSeats", "soldSeats");
+    }
+
+    @Test
+    void emptyOrReversedRangeIsRejected() throws Exception {
+        mvc.perform(get("/api/catalog/movies/m1/showtimes")
+                .param("from", T0.toString()).param("to", T0.toString())
+                .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/catalog/movies/m1/showtimes")
+                .param("from", T0.plusSeconds(1).toString()).param("to", T0.toString())
+                .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest());
+
+        verify(showtimes, never()).findByMovieIdAndStartBetween(anyString(), any(), any());
+    }
+
+    @Test
+    void openRangeIsStreamed() throws Exception {
+        when(showtimes.findByMovieIdAndStartBetween(anyString(), any(), any())).thenReturn(Flux.just(
+                new ShowtimeSummary("st1", "m1", "r1", T0)));
+
+        String body = stream("/api/catalog/movies/m1/showtimes?from=" + T0, MediaType.APPLICATION_NDJSON);
+
+        assertThat(body.strip()).contains("\"id\":\"st1\"");
+    }
+
+    private String stream(String url, MediaType accept) throws Exception {
+        MvcResult result = mvc.perform(get(url).accept(accept))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(accept));
+        return result.getResponse().getContentAsString();
+    }
+}
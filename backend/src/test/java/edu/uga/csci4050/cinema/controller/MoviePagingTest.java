@@ -0,0 +1,150 @@
+package edu.uga.csci4050.cinema.controller;
+
+import edu.uga.csci4050.cinema.EmbeddedMongo;
+import edu.uga.csci4050.cinema.model.MovieItem;
+import edu.uga.csci4050.cinema.repository.MovieRepository;
+import edu.uga.csci4050.cinema.service.MovieSearchIndex;
+import edu.uga.csci4050.cinema.type.MovieSummary;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cursor paging, field projection and summaries of GET /api/movies.
+ */
+@SpringBootTest
+class MoviePagingTest {
+
+    @DynamicPropertySource
+    static void embeddedMongo(DynamicPropertyRegistry registry) {
+        EmbeddedMongo.register(registry, "cinema_test_movies");
+    }
+
+    @Autowired
+    private MovieController controller;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieSearchIndex searchIndex;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void seed() {
+        movieRepository.saveAll(List.of(
+                movie("m1", "Alien 3", "Horror"),
+                movie("m2", "Heat", "Crime"),
+                movie("m3", "Aliens", "Action"),
+                movie("m4", "Up", "Animation"),
+                movie("m5", "Alien", "Horror")));
+        searchIndex.rebuild();
+    }
+
+    @AfterEach
+    void cleanup() {
+        mongoTemplate.getDb().getCollection("movies").deleteMany(new Document());
+    }
+
+    @Test
+    void listingPagesByIdAndEndsWithoutCursor() {
+        ResponseEntity<List<MovieItem>> first = controller.getMovies(null, null, null, 2, null);
+        assertThat(ids(first.getBody())).containsExactly("m1", "m2");
+        assertThat(first.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("m2");
+
+        ResponseEntity<List<MovieItem>> second = controller.getMovies(null, null, "m2", 2, null);
+        assertThat(ids(second.getBody())).containsExactly("m3", "m4");
+        assertThat(second.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("m4");
+
+        ResponseEntity<List<MovieItem>> last = controller.getMovies(null, null, "m4", 2, null);
+        assertThat(ids(last.getBody())).containsExactly("m5");
+        assertThat(last.getHeaders().containsKey("X-Next-Cursor")).isFalse();
+    }
+
+    @Test
+    void withoutLimitEverythingIsReturned() {
+        ResponseEntity<List<MovieItem>> all = controller.getMovies(null, null, null, null, null);
+        assertThat(ids(all.getBody())).containsExactly("m1", "m2", "m3", "m4", "m5");
+        assertThat(all.getHeaders().containsKey("X-Next-Cursor")).isFalse();
+
+        ResponseEntity<List<MovieItem>> found = controller.getMovies("alien", null, null, null, null);
+        assertThat(ids(found.getBody())).containsExactly("m5", "m3", "m1");
+    }
+
+    @Test
+    void fieldsLimitWhatIsLoaded() {
+        MovieItem listed = controller.getMovies(null, null, null, 1, List.of("title")).getBody().get(0);
+        assertThat(listed.getId()).isEqualTo("m1");
+        assertThat(listed.getTitle()).isEqualTo("Alien 3");
+        assertThat(listed.getSynopsis()).isNull();
+        assertThat(listed.getGenres()).isNull();
+
+        MovieItem searched = controller.getMovies("heat", null, null, null, List.of("genres")).getBody().get(0);
+        assertThat(searched.getTitle()).isNull();
+        assertThat(searched.getGenres()).containsExactly("Crime");
+
+        assertThatThrownBy(() -> controller.getMovies(null, null, null, null, List.of("password")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void searchKeepsRankingAcrossPages() {
+        ResponseEntity<List<MovieSummary>> first = controller.getMovieSummaries("alien", null, null, 2);
+        assertThat(first.getBody()).extracting(MovieSummary::id).containsExactly("m5", "m3");
+        assertThat(first.getBody().get(0).title()).isEqualTo("Alien");
+        assertThat(first.getBody().get(0).poster()).isEqualTo("m5.jpg");
+        assertThat(first.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("m3");
+
+        ResponseEntity<List<MovieSummary>> second = controller.getMovieSummaries("alien", null, "m3", 2);
+        assertThat(second.getBody()).extracting(MovieSummary::id).containsExactly("m1");
+        assertThat(second.getHeaders().containsKey("X-Next-Cursor")).isFalse();
+    }
+
+    @Test
+    void summariesPageLikeTheListing() {
+        ResponseEntity<List<MovieSummary>> page = controller.getMovieSummaries(null, null, "m3", 10);
+        assertThat(page.getBody()).extracting(MovieSummary::id).containsExactly("m4", "m5");
+        assertThat(page.getBody().get(0).genres()).containsExactly("Animation");
+    }
+
+    @Test
+    void unknownSearchCursorIsRejected() {
+        // m2 exists but is not a result of this search
+        assertThatThrownBy(() -> controller.getMovieSummaries("alien", null, "m2", 2))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> controller.getMovies(null, List.of("horror"), "nope", 2, null))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private static MovieItem movie(String id, String title, String genre) {
+        MovieItem m = new MovieItem();
+        m.setId(id);
+        m.setTitle(title);
+        m.setGenres(List.of(genre));
+        m.setPoster(id + ".jpg");
+        m.setSynopsis("About " + title);
+        return m;
+    }
+
+    private static List<String> ids(List<MovieItem> movies) {
+        return movies.stream().map(MovieItem::getId).toList();
+    }
+}
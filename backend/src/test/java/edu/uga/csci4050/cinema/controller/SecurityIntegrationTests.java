@@ -3,7 +3,9 @@ package edu.uga.csci4050.cinema.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.uga.csci4050.cinema.model.Showroom;
 import edu.uga.csci4050.cinema.repository.ShowroomRepository;
+import edu.uga.csci4050.cinema.repository.ShowtimeRepository;
 import edu.uga.csci4050.cinema.type.Showtime;
+import edu.uga.csci4050.cinema.type.ShowtimeSummary;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,10 +22,11 @@ import org.springframework.context.annotation.Bean;
 import static org.mockito.Mockito.mock;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -47,6 +50,9 @@ class SecurityIntegrationTests {
     @Autowired
     ShowroomRepository showroomRepository;
 
+    @Autowired
+    ShowtimeRepository showtimeRepository;
+
     @Autowired
     edu.uga.csci4050.cinema.security.JwtService jwtService;
 
@@ -67,11 +73,21 @@ class SecurityIntegrationTests {
             return mock(ShowroomRepository.class);
         }
 
+        @Bean
+        ShowtimeRepository showtimeRepository() {
+            return mock(ShowtimeRepository.class);
+        }
+
         @Bean
         edu.uga.csci4050.cinema.security.JwtService jwtService() {
             return mock(edu.uga.csci4050.cinema.security.JwtService.class);
         }
 
+        @Bean
+        edu.uga.csci4050.cinema.security.RateLimiter rateLimiter() {
+            return mock(edu.uga.csci4050.cinema.security.RateLimiter.class);
+        }
+
         @Bean
         edu.uga.csci4050.cinema.repository.UserRepository userRepository() {
             return mock(edu.uga.csci4050.cinema.repository.UserRepository.class);
@@ -83,14 +99,52 @@ class SecurityIntegrationTests {
         }
 
         @Bean
-        edu.uga.csci4050.cinema.repository.TicketRepository ticketRepository() {
-            return mock(edu.uga.csci4050.cinema.repository.TicketRepository.class);
+        edu.uga.csci4050.cinema.service.UserPrincipalCache userPrincipalCache(
+                edu.uga.csci4050.cinema.repository.UserRepository userRepository) {
+            return new edu.uga.csci4050.cinema.service.UserPrincipalCache(userRepository, 100, 30);
+        }
+
+        @Bean
+        edu.uga.csci4050.cinema.repository.TicketRecordRepository ticketRecordRepository() {
+            return mock(edu.uga.csci4050.cinema.repository.TicketRecordRepository.class);
+        }
+
+        @Bean
+        edu.uga.csci4050.cinema.service.PriceTable priceTable() {
+            edu.uga.csci4050.cinema.service.PriceTable table = mock(edu.uga.csci4050.cinema.service.PriceTable.class);
+            when(table.price(any())).thenReturn(java.math.BigDecimal.TEN);
+            return table;
         }
 
         @Bean
         edu.uga.csci4050.cinema.service.MailService mailService() {
             return mock(edu.uga.csci4050.cinema.service.MailService.class);
         }
+
+        @Bean
+        edu.uga.csci4050.cinema.service.ShowingsProjection showingsProjection() {
+            return mock(edu.uga.csci4050.cinema.service.ShowingsProjection.class);
+        }
+
+        @Bean
+        edu.uga.csci4050.cinema.service.CinemaMetrics cinemaMetrics() {
+            return mock(edu.uga.csci4050.cinema.service.CinemaMetrics.class);
+        }
+
+        @Bean
+        edu.uga.csci4050.cinema.service.SeatHoldService seatHoldService() {
+            return mock(edu.uga.csci4050.cinema.service.SeatHoldService.class);
+        }
+
+        @Bean
+        edu.uga.csci4050.cinema.service.SeatEvents seatEvents() {
+            return mock(edu.uga.csci4050.cinema.service.SeatEvents.class);
+        }
+
+        @Bean
+        edu.uga.csci4050.cinema.service.IdempotencyService idempotencyService() {
+            return mock(edu.uga.csci4050.cinema.service.IdempotencyService.class);
+        }
     }
 
     @Test
@@ -145,28 +199,42 @@ class SecurityIntegrationTests {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @DisplayName("POST /api/bookings returns 409 when the seat guard rejects the update")
+    @WithMockUser(username = "user@example.com", roles = { "USER" })
+    void postBookings_conflictWhenSeatTaken() throws Exception {
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        when(showtimeRepository.reserveSeats(eq("st1"), eq("r1"), anyCollection()))
+                .thenReturn(java.util.Optional.empty());
+        when(showtimeRepository.existsByRoomIdAndMovieIdAndStart("r1", "m1", start)).thenReturn(true);
+        when(showtimeRepository.findSummaryByRoomIdAndMovieIdAndStart("r1", "m1", start))
+                .thenReturn(java.util.Optional.of(new ShowtimeSummary("st1", "m1", "r1", start)));
+
+        var body = "{\"showtime\":{\"movieId\":\"m1\",\"start\":\"2025-01-01T00:00:00Z\",\"roomId\":\"r1\"},\"seats\":[\"A1\"]}";
+
+        mvc.perform(post("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     @DisplayName("POST /api/bookings allowed for USER role")
     @WithMockUser(username = "user@example.com", roles = { "USER" })
     void postBookings_allowedForUser() throws Exception {
-        // Prepare a showroom and a matching showtime for controller logic to succeed
-        Showroom room = new Showroom();
-        room.setId("r1");
-        // no name field in Showroom
-        var showtimes = new ArrayList<Showtime>();
-        var st = new Showtime("m1", Instant.parse("2025-01-01T00:00:00Z"), new String[0], "r1");
-        showtimes.add(st);
-        room.setShowtimes(showtimes);
-        when(showroomRepository.findById("r1")).thenReturn(java.util.Optional.of(room));
-        when(showroomRepository.save(any(Showroom.class))).thenAnswer(inv -> inv.getArgument(0));
+        // Prepare a matching showtime for controller logic to succeed
+        var st = new Showtime("m1", Instant.parse("2025-01-01T00:00:00Z"), new String[] { "A1", "A2" }, "r1");
+        when(showtimeRepository.reserveSeats(eq("st1"), eq("r1"), anyCollection()))
+                .thenReturn(java.util.Optional.of(st));
+        when(showtimeRepository.findSummaryByRoomIdAndMovieIdAndStart("r1", "m1", st.start()))
+                .thenReturn(java.util.Optional.of(new ShowtimeSummary("st1", "m1", "r1", st.start())));
 
         var body = "{\"showtime\":{\"movieId\":\"m1\",\"start\":\"2025-01-01T00:00:00Z\",\"roomId\":\"r1\"},\"seats\":[\"A1\",\"A2\"]}";
 
         // Mock that the authenticated user exists in DB to ensure email is sent
-        edu.uga.csci4050.cinema.model.User user = new edu.uga.csci4050.cinema.model.User();
-        user.setEmail("user@example.com");
-        user.setName("Test User");
-        when(userRepository.findByEmail("user@example.com")).thenReturn(java.util.Optional.of(user));
+        var user = new edu.uga.csci4050.cinema.type.UserPrincipalView("u1", "user@example.com", "Test User",
+                edu.uga.csci4050.cinema.model.User.Role.USER, edu.uga.csci4050.cinema.model.User.Status.ACTIVE);
+        when(userRepository.findPrincipalByEmail("user@example.com")).thenReturn(java.util.Optional.of(user));
 
         mvc.perform(post("/api/bookings")
                 .contentType(MediaType.APPLICATION_JSON)
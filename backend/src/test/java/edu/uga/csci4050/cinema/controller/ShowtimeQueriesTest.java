@@ -0,0 +1,50 @@
+package edu.uga.csci4050.cinema.controller;
+
+import edu.uga.csci4050.cinema.repository.ShowroomRepository;
+import edu.uga.csci4050.cinema.repository.ShowtimeRepository;
+import edu.uga.csci4050.cinema.service.SeatEvents;
+import edu.uga.csci4050.cinema.service.SeatHoldService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Bounds passed down by the showtime query endpoints.
+ */
+class ShowtimeQueriesTest {
+
+    private final ShowtimeRepository showtimes = mock(ShowtimeRepository.class);
+
+    @Test
+    void dateQueryCoversOneCinemaDay() {
+        ShowtimeController controller = new ShowtimeController(showtimes, mock(ShowroomRepository.class),
+                mock(SeatHoldService.class), mock(SeatEvents.class));
+
+        assertThat(controller.getShowtimesOnDate(LocalDate.of(2030, 7, 1)).getStatusCode().value()).isEqualTo(200);
+
+        // Midnight to midnight in America/New_York (UTC-4 in July)
+        verify(showtimes).findSummaries(null, Instant.parse("2030-07-01T04:00:00Z"),
+                Instant.parse("2030-07-02T04:00:00Z"));
+    }
+
+    @Test
+    void movieShowtimesRejectAnEmptyRange() {
+        MovieController controller = new MovieController();
+        controller.showtimeRepository = showtimes;
+        Instant t = Instant.parse("2030-07-01T18:00:00Z");
+
+        assertThat(controller.getMovieShowtimes("m1", t, t).getStatusCode().value()).isEqualTo(400);
+        assertThat(controller.getMovieShowtimes("m1", t.plusSeconds(1), t).getStatusCode().value()).isEqualTo(400);
+        verify(showtimes, never()).findSummaries(any(), any(), any());
+
+        controller.getMovieShowtimes("m1", t, null);
+        verify(showtimes).findSummaries("m1", t, null);
+    }
+}
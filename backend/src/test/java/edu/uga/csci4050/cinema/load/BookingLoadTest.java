@@ -0,0 +1,358 @@
+package edu.uga.csci4050.cinema.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import edu.uga.csci4050.cinema.EmbeddedMongo;
+import edu.uga.csci4050.cinema.model.MovieItem;
+import edu.uga.csci4050.cinema.model.Showroom;
+import edu.uga.csci4050.cinema.model.TicketRecord;
+import edu.uga.csci4050.cinema.model.User;
+import edu.uga.csci4050.cinema.repository.MovieRepository;
+import edu.uga.csci4050.cinema.repository.ShowroomRepository;
+import edu.uga.csci4050.cinema.repository.ShowtimeRepository;
+import edu.uga.csci4050.cinema.repository.UserRepository;
+import edu.uga.csci4050.cinema.type.RatingCode;
+import edu.uga.csci4050.cinema.type.SeatMap;
+import edu.uga.csci4050.cinema.type.Showtime;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Closed-loop load test: boots the app on an embedded mongod, seeds
+ * showrooms, showtimes, movies and accounts, then has virtual users call
+ * bookings, movie listing/search and login in the configured mix (see
+ * {@link LoadProfile}). Writes throughput, latency percentiles, the 409 rate
+ * and any double-sold seats to a JSON report, and fails if a seat was sold
+ * twice.
+ *
+ * Excluded from the normal build; run with mvn test -Pload. The mongod
+ * binary is downloaded on first use and cached, after which no network is
+ * needed.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        // Every virtual user shares one client IP, which the limiter would throttle
+        "app.ratelimit.enabled=false",
+        "app.security.bcrypt-strength=${load.bcrypt-strength:10}",
+        "spring.threads.virtual.enabled=${load.virtual-threads:false}",
+        "logging.level.edu.uga.csci4050.cinema=WARN"
+})
+class BookingLoadTest {
+
+    private static final String PASSWORD = "LoadTest-Passw0rd";
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @DynamicPropertySource
+    static void embeddedMongo(DynamicPropertyRegistry registry) {
+        EmbeddedMongo.register(registry, "cinema_load");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ShowroomRepository showroomRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private final AtomicLong bookingAttempts = new AtomicLong();
+    private final AtomicLong bookingConflicts = new AtomicLong();
+    private final AtomicLong seatsSold = new AtomicLong();
+    private final AtomicLong acknowledgedDoubleSells = new AtomicLong();
+    // "showtimeId|seat" for every seat a 200 was returned for
+    private final Set<String> acknowledgedSeats = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void bookingMix_reportsLatencyAndNeverDoubleSells() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        Random random = new Random(profile.seed());
+        List<Showtime> showtimes = seedShowtimes(profile, seedMovies(random));
+        List<String> accounts = seedAccounts(profile);
+        SeatMap seatMap = new SeatMap(profile.rows(), profile.seatsPerRow());
+
+        // Virtual users are virtual threads so the client can hold thousands of connections open
+        ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+        long started = System.nanoTime();
+        long measureFrom = started + TimeUnit.SECONDS.toNanos(profile.warmupSeconds());
+        long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(profile.durationSeconds());
+        List<Future<Map<String, LatencyRecorder>>> users = new ArrayList<>();
+        for (int u = 0; u < profile.users(); u++) {
+            long userSeed = profile.seed() + u;
+            String account = accounts.get(u % accounts.size());
+            users.add(pool.submit(() -> virtualUser(profile, new Random(userSeed), account, accounts, showtimes,
+                    seatMap, measureFrom, stopAt)));
+        }
+        Map<String, LatencyRecorder> merged = new LinkedHashMap<>();
+        for (Future<Map<String, LatencyRecorder>> user : users) {
+            user.get().forEach((op, rec) -> merged.computeIfAbsent(op, k -> new LatencyRecorder()).merge(rec));
+        }
+        pool.shutdown();
+
+        long doubleSells = countDoubleSoldSeats();
+        Map<String, Object> report = report(profile, merged, seatMap.capacity() * (long) showtimes.size(),
+                doubleSells);
+        File out = new File(profile.report());
+        if (out.getParentFile() != null) {
+            out.getParentFile().mkdirs();
+        }
+        json.writerWithDefaultPrettyPrinter().writeValue(out, report);
+        System.out.println("Load report written to " + out.getAbsolutePath() + "\n"
+                + json.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+
+        assertThat(acknowledgedDoubleSells.get()).as("seats confirmed to two bookings").isZero();
+        assertThat(doubleSells).as("seats on more than one ticket").isZero();
+    }
+
+    private Map<String, LatencyRecorder> virtualUser(LoadProfile profile, Random random, String account,
+            List<String> accounts, List<Showtime> showtimes, SeatMap seatMap, long measureFrom, long stopAt)
+            throws Exception {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        profile.mix().keySet().forEach(op -> recorders.put(op, new LatencyRecorder()));
+        String token = login(account).token();
+
+        long now;
+        while ((now = System.nanoTime()) < stopAt) {
+            String op = profile.pick(random.nextInt(profile.totalWeight()));
+            boolean measured = now >= measureFrom;
+            LatencyRecorder recorder = recorders.get(op);
+            long begin = System.nanoTime();
+            boolean ok;
+            try {
+                ok = switch (op) {
+                    case LoadProfile.BOOKINGS -> book(profile, random, token, showtimes, seatMap, measured);
+                    case LoadProfile.MOVIES -> movies(random);
+                    default -> login(accounts.get(random.nextInt(accounts.size()))).status() == 200;
+                };
+            } catch (Exception e) {
+                ok = false;
+            }
+            if (measured) {
+                recorder.record(System.nanoTime() - begin);
+                if (!ok) {
+                    recorder.error();
+                }
+            }
+        }
+        return recorders;
+    }
+
+    // A 409 is an expected outcome under contention, not an error
+    private boolean book(LoadProfile profile, Random random, String token, List<Showtime> showtimes,
+            SeatMap seatMap, boolean measured) throws Exception {
+        Showtime st = showtimes.get(random.nextInt(showtimes.size()));
+        int row = random.nextInt(profile.rows());
+        int width = Math.min(profile.seatsPerBooking(), profile.seatsPerRow());
+        int first = random.nextInt(profile.seatsPerRow() - width + 1);
+        List<String> seats = new ArrayList<>();
+        for (int i = 0; i < width; i++) {
+            seats.add(seatMap.labelOf(row * profile.seatsPerRow() + first + i));
+        }
+        Map<String, Object> showtime = new LinkedHashMap<>();
+        showtime.put("id", st.id());
+        showtime.put("movieId", st.movieId());
+        showtime.put("start", st.start().toString());
+        showtime.put("roomId", st.roomId());
+        Map<String, Object> body = Map.of("showtime", showtime, "seats", seats,
+                "ticketCounts", Map.of("adult", seats.size()));
+
+        HttpResponse<String> res = http.send(HttpRequest.newBuilder(uri("/api/bookings"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        if (measured) {
+            bookingAttempts.incrementAndGet();
+        }
+        if (res.statusCode() == 200) {
+            for (String seat : seats) {
+                if (!acknowledgedSeats.add(st.id() + "|" + seat)) {
+                    acknowledgedDoubleSells.incrementAndGet();
+                }
+            }
+            if (measured) {
+                seatsSold.addAndGet(seats.size());
+            }
+            return true;
+        }
+        if (res.statusCode() == 409) {
+            if (measured) {
+                bookingConflicts.incrementAndGet();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // Alternates between the plain catalog page and a title search
+    private boolean movies(Random random) throws Exception {
+        String path = random.nextBoolean() ? "/api/movies?limit=20" : "/api/movies?title=night";
+        HttpResponse<Void> res = http.send(HttpRequest.newBuilder(uri(path)).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        return res.statusCode() == 200;
+    }
+
+    private record Login(int status, String token) {
+    }
+
+    private Login login(String email) throws Exception {
+        String body = json.writeValueAsString(Map.of("email", email, "password", PASSWORD));
+        HttpResponse<String> res = http.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        String token = res.statusCode() == 200 ? json.readTree(res.body()).path("token").asText() : null;
+        return new Login(res.statusCode(), token);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private List<String> seedMovies(Random random) {
+        String[] words = { "Night", "River", "Summer", "Ghost", "Empire", "Silent", "Winter", "Road" };
+        List<MovieItem> movies = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String title = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + i;
+            movies.add(new MovieItem(title, List.of("Drama"), List.of("Cast"), "Director", "Producer",
+                    "Synopsis", List.of(), null, null, RatingCode.PG13));
+        }
+        return movieRepository.saveAll(movies).stream().map(MovieItem::getId).toList();
+    }
+
+    private List<Showtime> seedShowtimes(LoadProfile profile, List<String> movieIds) {
+        Instant first = Instant.now().plus(Duration.ofDays(1));
+        List<Showtime> showtimes = new ArrayList<>();
+        for (int r = 0; r < profile.showrooms(); r++) {
+            Showroom room = new Showroom();
+            room.setRows(profile.rows());
+            room.setSeatsPerRow(profile.seatsPerRow());
+            room = showroomRepository.save(room);
+            SeatMap seatMap = room.seatMap();
+            for (int s = 0; s < profile.showtimesPerShowroom(); s++) {
+                showtimes.add(new Showtime(room.getId() + "-" + s, movieIds.get((r + s) % movieIds.size()),
+                        first.plus(Duration.ofHours(3L * s)), new String[0], room.getId(), seatMap.empty()));
+            }
+        }
+        return showtimeRepository.saveAll(showtimes);
+    }
+
+    private List<String> seedAccounts(LoadProfile profile) {
+        // One hash for everyone; seeding should not take longer than the run
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < profile.accounts(); i++) {
+            User u = new User();
+            u.setName("Load User " + i);
+            u.setEmail("load" + i + "@example.com");
+            u.setPasswordHash(hash);
+            u.setStatus(User.Status.ACTIVE);
+            u.setEmailVerified(true);
+            users.add(u);
+        }
+        return userRepository.saveAll(users).stream().map(User::getEmail).toList();
+    }
+
+    // Seats that appear on more than one persisted ticket for the same showing
+    private long countDoubleSoldSeats() {
+        Map<String, Set<String>> sold = new HashMap<>();
+        long duplicates = 0;
+        for (TicketRecord ticket : mongoTemplate.findAll(TicketRecord.class)) {
+            Set<String> seats = sold.computeIfAbsent(ticket.getShowroomId() + "|" + ticket.getShowtime(),
+                    k -> new HashSet<>());
+            for (String seat : ticket.getSeats()) {
+                if (!seats.add(seat)) {
+                    duplicates++;
+                }
+            }
+        }
+        return duplicates;
+    }
+
+    private Map<String, Object> report(LoadProfile profile, Map<String, LatencyRecorder> ops, long capacity,
+            long doubleSells) {
+        double seconds = profile.durationSeconds();
+        long total = ops.values().stream().mapToLong(LatencyRecorder::count).sum();
+        Map<String, Object> operations = new LinkedHashMap<>();
+        ops.forEach((op, rec) -> operations.put(op, rec.summary(seconds)));
+
+        Map<String, Object> bookings = new LinkedHashMap<>();
+        long attempts = bookingAttempts.get();
+        long conflicts = bookingConflicts.get();
+        bookings.put("attempts", attempts);
+        bookings.put("conflicts", conflicts);
+        bookings.put("conflictRate", attempts == 0 ? 0 : LatencyRecorder.round((double) conflicts / attempts));
+        bookings.put("seatsSold", seatsSold.get());
+        bookings.put("capacity", capacity);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("profile", profile);
+        report.put("requests", total);
+        report.put("throughputPerSecond", LatencyRecorder.round(total / seconds));
+        report.put("operations", operations);
+        report.put("bookings", bookings);
+        report.put("doubleSells", doubleSells);
+        report.put("acknowledgedDoubleSells", acknowledgedDoubleSells.get());
+        return report;
+    }
+}
@@ -0,0 +1,73 @@
+package edu.uga.csci4050.cinema.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Raw latency samples for one operation. Each virtual user keeps its own and
+ * they are merged after the run, so recording never contends. Percentiles
+ * are exact (nearest rank over the sorted samples).
+ */
+final class LatencyRecorder {
+
+    private long[] nanos = new long[1024];
+    private int count;
+    private int errors;
+    private boolean sorted;
+
+    void record(long elapsedNanos) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = elapsedNanos;
+        sorted = false;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > nanos.length) {
+            nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, count + other.count));
+        }
+        System.arraycopy(other.nanos, 0, nanos, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        sorted = false;
+    }
+
+    int count() {
+        return count;
+    }
+
+    /** Latency at quantile q (0..1) in milliseconds; 0 if nothing was recorded. */
+    double percentileMillis(double q) {
+        if (count == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(nanos, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(q * count);
+        return nanos[Math.max(0, Math.min(count, rank) - 1)] / 1_000_000.0;
+    }
+
+    Map<String, Object> summary(double seconds) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("requests", count);
+        out.put("errors", errors);
+        out.put("throughputPerSecond", round(count / seconds));
+        out.put("p50Ms", round(percentileMillis(0.50)));
+        out.put("p99Ms", round(percentileMillis(0.99)));
+        out.put("p999Ms", round(percentileMillis(0.999)));
+        out.put("maxMs", round(percentileMillis(1.0)));
+        return out;
+    }
+
+    static double round(double v) {
+        return Math.round(v * 1000) / 1000.0;
+    }
+}
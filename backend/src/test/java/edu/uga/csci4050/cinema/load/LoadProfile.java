@@ -0,0 +1,88 @@
+package edu.uga.csci4050.cinema.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shape of a load run, read from -Dload.* system properties so a run can be
+ * repeated exactly from the command line:
+ *
+ * mvn test -Pload -Dload.users=64 -Dload.duration-seconds=60 -Dload.mix=bookings=80,movies=20
+ *
+ * load.virtual-threads switches the server between Tomcat's platform pool and
+ * virtual threads. Comparing the two at 5k concurrent connections:
+ *
+ * mvn test -Pload -Dload.users=5000 -Dload.virtual-threads=false -Dload.report=target/load-platform.json
+ * mvn test -Pload -Dload.users=5000 -Dload.virtual-threads=true -Dload.report=target/load-virtual.json
+ */
+record LoadProfile(
+        int showrooms,
+        int showtimesPerShowroom,
+        int rows,
+        int seatsPerRow,
+        int accounts,
+        int users,
+        boolean virtualThreads,
+        int warmupSeconds,
+        int durationSeconds,
+        int seatsPerBooking,
+        Map<String, Integer> mix,
+        long seed,
+        String report) {
+
+    static final String BOOKINGS = "bookings";
+    static final String MOVIES = "movies";
+    static final String LOGIN = "login";
+
+    static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Integer.getInteger("load.showrooms", 4),
+                Integer.getInteger("load.showtimes", 10),
+                Integer.getInteger("load.rows", 10),
+                Integer.getInteger("load.seats-per-row", 15),
+                Integer.getInteger("load.accounts", 100),
+                Integer.getInteger("load.users", 32),
+                Boolean.getBoolean("load.virtual-threads"),
+                Integer.getInteger("load.warmup-seconds", 5),
+                Integer.getInteger("load.duration-seconds", 30),
+                Integer.getInteger("load.seats-per-booking", 2),
+                parseMix(System.getProperty("load.mix", "bookings=60,movies=35,login=5")),
+                Long.getLong("load.seed", 42),
+                System.getProperty("load.report", "target/load-report.json"));
+    }
+
+    // "bookings=60,movies=35,login=5" -> weights by operation
+    static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            String op = kv[0].trim();
+            if (!op.equals(BOOKINGS) && !op.equals(MOVIES) && !op.equals(LOGIN)) {
+                throw new IllegalArgumentException("Unknown operation in load.mix: " + op);
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                mix.put(op, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("load.mix has no operations: " + spec);
+        }
+        return mix;
+    }
+
+    /** The operation a draw in [0, total weight) falls on. */
+    String pick(int draw) {
+        for (Map.Entry<String, Integer> e : mix.entrySet()) {
+            draw -= e.getValue();
+            if (draw < 0) {
+                return e.getKey();
+            }
+        }
+        throw new IllegalArgumentException("draw out of range");
+    }
+
+    int totalWeight() {
+        return mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
@@ -0,0 +1,190 @@
+package edu.uga.csci4050.cinema.repository;
+
+import edu.uga.csci4050.cinema.EmbeddedMongo;
+import edu.uga.csci4050.cinema.model.Showroom;
+import edu.uga.csci4050.cinema.type.SeatMap;
+import edu.uga.csci4050.cinema.type.Showtime;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Fires hundreds of parallel bookings at a single showtime and checks that no
+ * seat is ever sold twice.
+ */
+@SpringBootTest
+class ShowtimeRepositoryContentionTest {
+
+    private static final int BOOKERS = 400;
+    private static final int SEAT_POOL = 40;
+
+    @DynamicPropertySource
+    static void embeddedMongo(DynamicPropertyRegistry registry) {
+        EmbeddedMongo.register(registry, "cinema_test_showtimes");
+    }
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private ShowroomRepository showroomRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @AfterEach
+    void cleanup() {
+        mongoTemplate.getDb().getCollection("showrooms").deleteMany(new Document());
+        mongoTemplate.getDb().getCollection("showtimes").deleteMany(new Document());
+    }
+
+    @Test
+    void reserveSeats_neverDoubleSellsUnderContention() throws Exception {
+        Instant start = Instant.parse("2030-01-01T19:00:00Z");
+        String roomId = showroomRepository.save(new Showroom()).getId();
+        showtimeRepository.save(new Showtime("st1", "m1", start, new String[0], roomId, null));
+
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch ready = new CountDownLatch(1);
+        ConcurrentLinkedQueue<List<String>> winners = new ConcurrentLinkedQueue<>();
+
+        for (int i = 0; i < BOOKERS; i++) {
+            // Every booker wants two adjacent seats from a small pool, so most collide
+            int first = i % SEAT_POOL;
+            List<String> seats = List.of("S" + first, "S" + ((first + 1) % SEAT_POOL));
+            pool.submit(() -> {
+                ready.await();
+                if (showtimeRepository.reserveSeats("st1", roomId, seats).isPresent()) {
+                    winners.add(seats);
+                }
+                return null;
+            });
+        }
+        ready.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        Set<String> sold = new HashSet<>();
+        for (List<String> seats : winners) {
+            for (String seat : seats) {
+                assertThat(sold.add(seat)).as("seat %s sold twice", seat).isTrue();
+            }
+        }
+        assertThat(winners).isNotEmpty();
+
+        String[] booked = showtimeRepository.findById("st1").orElseThrow().bookedSeats();
+        assertThat(booked).containsExactlyInAnyOrderElementsOf(sold);
+    }
+
+    @Test
+    void reserveSeats_bitmapGuardNeverDoubleSells() throws Exception {
+        Instant start = Instant.parse("2030-01-01T19:00:00Z");
+        SeatMap seatMap = new SeatMap(15, 20);
+        Showroom room = new Showroom();
+        room.setRows(15);
+        room.setSeatsPerRow(20);
+        String roomId = showroomRepository.save(room).getId();
+        showtimeRepository.save(new Showtime("st1", "m1", start, new String[0], roomId, seatMap.empty()));
+
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch ready = new CountDownLatch(1);
+        ConcurrentLinkedQueue<List<String>> winners = new ConcurrentLinkedQueue<>();
+
+        for (int i = 0; i < BOOKERS; i++) {
+            // Spread over word boundaries: seat i and the seat 70 places further on
+            int first = i % seatMap.capacity();
+            List<String> seats = List.of(seatMap.labelOf(first), seatMap.labelOf((first + 70) % seatMap.capacity()));
+            pool.submit(() -> {
+                ready.await();
+                if (showtimeRepository.reserveSeats("st1", roomId, seats).isPresent()) {
+                    winners.add(seats);
+                }
+                return null;
+            });
+        }
+        ready.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        Set<String> sold = new HashSet<>();
+        for (List<String> seats : winners) {
+            for (String seat : seats) {
+                assertThat(sold.add(seat)).as("seat %s sold twice", seat).isTrue();
+            }
+        }
+
+        Showtime stored = showtimeRepository.findById("st1").orElseThrow();
+        assertThat(seatMap.labels(stored.soldSeats())).containsExactlyInAnyOrderElementsOf(sold);
+        // Sales are only recorded in the bitmap; the label list does not grow
+        assertThat(stored.bookedSeats()).isEmpty();
+    }
+
+    @Test
+    void reserveSeats_rejectsSeatsNotOnTheLayout() {
+        Instant start = Instant.parse("2030-01-01T19:00:00Z");
+        SeatMap seatMap = new SeatMap(2, 3);
+        Showroom room = new Showroom();
+        room.setRows(2);
+        room.setSeatsPerRow(3);
+        String roomId = showroomRepository.save(room).getId();
+        showtimeRepository.save(new Showtime("st1", "m1", start, null, roomId, seatMap.empty()));
+
+        assertThatThrownBy(() -> showtimeRepository.reserveSeats("st1", roomId, List.of("A1", "C9")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(showtimeRepository.findById("st1").orElseThrow().soldSeats()).containsExactly(0L);
+    }
+
+    @Test
+    void reserveSeats_conflictLeavesShowtimeUntouched() {
+        Instant start = Instant.parse("2030-01-01T19:00:00Z");
+        String roomId = showroomRepository.save(new Showroom()).getId();
+        showtimeRepository.save(new Showtime("st1", "m1", start, new String[] { "A1" }, roomId, null));
+
+        assertThat(showtimeRepository.reserveSeats("st1", roomId, List.of("A1", "A2"))).isEmpty();
+        assertThat(showtimeRepository.existsByRoomIdAndMovieIdAndStart(roomId, "m1", start)).isTrue();
+
+        String[] booked = showtimeRepository.findById("st1").orElseThrow().bookedSeats();
+        assertThat(booked).containsExactly("A1");
+    }
+
+    @Test
+    void reserveSeats_onlyTouchesTheGivenShowtime() {
+        Instant start = Instant.parse("2030-01-01T19:00:00Z");
+        SeatMap seatMap = new SeatMap(2, 3);
+        Showroom room = new Showroom();
+        room.setRows(2);
+        room.setSeatsPerRow(3);
+        String roomId = showroomRepository.save(room).getId();
+        showtimeRepository.save(new Showtime("st1", "m1", start, null, roomId, seatMap.empty()));
+        showtimeRepository.save(new Showtime("st2", "m1", start.plusSeconds(3600), null, roomId, seatMap.empty()));
+
+        assertThat(showtimeRepository.reserveSeats("st2", roomId, List.of("A1"))).isPresent();
+        // A1 is sold on st2 only; the guard on st1 is not affected by it
+        assertThat(showtimeRepository.reserveSeats("st1", roomId, List.of("A1"))).isPresent();
+        assertThat(showtimeRepository.reserveSeats("st2", roomId, List.of("A1"))).isEmpty();
+        // A showtime id from another room matches nothing
+        assertThat(showtimeRepository.reserveSeats("st1", "other-room", List.of("A2"))).isEmpty();
+
+        assertThat(showtimeRepository.releaseSeats("st2", roomId, List.of("A1"))).isTrue();
+        assertThat(seatMap.labels(showtimeRepository.findById("st1").orElseThrow().soldSeats())).containsExactly("A1");
+        assertThat(seatMap.labels(showtimeRepository.findById("st2").orElseThrow().soldSeats())).isEmpty();
+    }
+}
@@ -0,0 +1,75 @@
+package edu.uga.csci4050.cinema.repository;
+
+import edu.uga.csci4050.cinema.EmbeddedMongo;
+import edu.uga.csci4050.cinema.type.Showtime;
+import edu.uga.csci4050.cinema.type.ShowtimeSummary;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Showtime listings by movie and start range, without seat data.
+ */
+@SpringBootTest
+class ShowtimeSummariesTest {
+
+    private static final Instant T0 = Instant.parse("2030-01-01T18:00:00Z");
+
+    @DynamicPropertySource
+    static void embeddedMongo(DynamicPropertyRegistry registry) {
+        EmbeddedMongo.register(registry, "cinema_test_summaries");
+    }
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void seed() {
+        showtimeRepository.saveAll(List.of(
+                new Showtime("a", "m1", T0.plusSeconds(7200), new String[] { "A1" }, "r1", null),
+                new Showtime("b", "m1", T0, new String[] { "B1" }, "r1", null),
+                new Showtime("c", "m2", T0.plusSeconds(3600), new String[0], "r2", null),
+                new Showtime("d", "m1", T0.plusSeconds(86400), new String[0], "r2", null)));
+    }
+
+    @AfterEach
+    void cleanup() {
+        mongoTemplate.getDb().getCollection("showtimes").deleteMany(new Document());
+    }
+
+    @Test
+    void filtersByMovieAndOrdersByStart() {
+        assertThat(showtimeRepository.findSummaries("m1", null, null))
+                .extracting(ShowtimeSummary::id).containsExactly("b", "a", "d");
+    }
+
+    @Test
+    void rangeIncludesFromAndExcludesTo() {
+        List<ShowtimeSummary> day = showtimeRepository.findSummaries(null, T0, T0.plusSeconds(7200));
+        assertThat(day).extracting(ShowtimeSummary::id).containsExactly("b", "c");
+
+        assertThat(showtimeRepository.findSummaries("m1", T0.plusSeconds(1), null))
+                .extracting(ShowtimeSummary::id).containsExactly("a", "d");
+        assertThat(showtimeRepository.findSummaries(null, null, T0)).isEmpty();
+    }
+
+    @Test
+    void summariesCarryIdentityFields() {
+        ShowtimeSummary b = showtimeRepository.findSummaries("m1", T0, T0.plusSeconds(1)).get(0);
+        assertThat(b).isEqualTo(new ShowtimeSummary("b", "m1", "r1", T0));
+    }
+}
@@ -0,0 +1,88 @@
+package edu.uga.csci4050.cinema.repository;
+
+import edu.uga.csci4050.cinema.EmbeddedMongo;
+import edu.uga.csci4050.cinema.model.TicketRecord;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ticket history paging and returns.
+ */
+@SpringBootTest
+class TicketHistoryTest {
+
+    private static final Instant T0 = Instant.parse("2030-01-01T18:00:00Z");
+
+    @DynamicPropertySource
+    static void embeddedMongo(DynamicPropertyRegistry registry) {
+        EmbeddedMongo.register(registry, "cinema_test_tickets");
+    }
+
+    @Autowired
+    private TicketRecordRepository tickets;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @AfterEach
+    void cleanup() {
+        mongoTemplate.getDb().getCollection("tickets").deleteMany(new Document());
+    }
+
+    @Test
+    void pagingDoesNotSkipTicketsBoughtInTheSameInstant() {
+        // One booking of three tickets shares a createdAt, and a page boundary falls inside it
+        tickets.saveAll(List.of(
+                ticket("t1", "a@x.com", T0),
+                ticket("t2", "a@x.com", T0.plusSeconds(60)),
+                ticket("t3", "a@x.com", T0.plusSeconds(60)),
+                ticket("t4", "a@x.com", T0.plusSeconds(60)),
+                ticket("t5", "a@x.com", T0.plusSeconds(120)),
+                ticket("o1", "b@x.com", T0.plusSeconds(60))));
+
+        List<String> seen = new ArrayList<>();
+        Instant createdAt = null;
+        String ticketNumber = null;
+        while (true) {
+            List<TicketRecord> page = tickets.findHistoryPage("a@x.com", createdAt, ticketNumber, 2);
+            page.forEach(t -> seen.add(t.getTicketNumber()));
+            if (page.size() < 2) {
+                break;
+            }
+            TicketRecord last = page.get(page.size() - 1);
+            createdAt = last.getCreatedAt();
+            ticketNumber = last.getTicketNumber();
+        }
+
+        assertThat(seen).containsExactly("t5", "t4", "t3", "t2", "t1");
+    }
+
+    @Test
+    void onlyOneReturnDeletesTheTicket() {
+        tickets.save(ticket("t1", "a@x.com", T0));
+
+        assertThat(tickets.deleteByTicketNumberAndUserEmail("t1", "b@x.com")).isZero();
+        assertThat(tickets.deleteByTicketNumberAndUserEmail("t1", "a@x.com")).isEqualTo(1);
+        assertThat(tickets.deleteByTicketNumberAndUserEmail("t1", "a@x.com")).isZero();
+    }
+
+    private static TicketRecord ticket(String number, String email, Instant createdAt) {
+        TicketRecord t = new TicketRecord();
+        t.setTicketNumber(number);
+        t.setUserEmail(email);
+        t.setCreatedAt(createdAt);
+        return t;
+    }
+}
@@ -0,0 +1,70 @@
+package edu.uga.csci4050.cinema.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimitStoreTest {
+
+    private static final Duration MINUTE = Duration.ofMinutes(1);
+    // Start of a window, so elapsed fractions are easy to reason about
+    private static final Instant T0 = Instant.ofEpochMilli(60_000L * 1_000_000);
+
+    @Test
+    void allowsUpToTheLimitPerKey() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(10_000);
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryAcquire("login:ip", "1.2.3.4", 3, MINUTE, T0)).isTrue();
+        }
+        assertThat(store.tryAcquire("login:ip", "1.2.3.4", 3, MINUTE, T0)).isFalse();
+        // Other keys and buckets are counted separately
+        assertThat(store.tryAcquire("login:ip", "5.6.7.8", 3, MINUTE, T0)).isTrue();
+        assertThat(store.tryAcquire("forgot:ip", "1.2.3.4", 3, MINUTE, T0)).isTrue();
+    }
+
+    @Test
+    void previousWindowFadesOutAcrossTheNext() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(10_000);
+        for (int i = 0; i < 4; i++) {
+            assertThat(store.tryAcquire("b", "k", 4, MINUTE, T0)).isTrue();
+        }
+        // A quarter into the next window, 3 of the previous 4 still count
+        Instant quarter = T0.plus(Duration.ofSeconds(75));
+        assertThat(store.tryAcquire("b", "k", 4, MINUTE, quarter)).isTrue();
+        assertThat(store.tryAcquire("b", "k", 4, MINUTE, quarter)).isFalse();
+
+        // Two windows later nothing from the first one is left
+        Instant later = T0.plus(Duration.ofMinutes(3));
+        for (int i = 0; i < 4; i++) {
+            assertThat(store.tryAcquire("b", "k", 4, MINUTE, later)).isTrue();
+        }
+    }
+
+    @Test
+    void sweepDropsIdleCountersAndKeepsLiveOnes() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(10_000);
+        for (int i = 0; i < 1000; i++) {
+            store.tryAcquire("b", "idle-" + i, 5, MINUTE, T0);
+        }
+        Instant later = T0.plus(Duration.ofMinutes(5));
+        store.tryAcquire("b", "live", 1, MINUTE, later);
+
+        store.sweep(later);
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.tryAcquire("b", "live", 1, MINUTE, later)).isFalse();
+    }
+
+    @Test
+    void distinctKeysCannotGrowItPastMaxKeys() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(100);
+        for (int i = 0; i < 5000; i++) {
+            store.tryAcquire("b", "flood-" + i, 5, MINUTE, T0);
+        }
+
+        assertThat(store.size()).isLessThanOrEqualTo(100);
+    }
+}
@@ -0,0 +1,45 @@
+package edu.uga.csci4050.cinema.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-test-secret-0123456789abcdef";
+
+    @Test
+    void replayedTokenReturnsTheCachedClaims() {
+        JwtService jwt = new JwtService(SECRET, 3600, 604800, 100);
+        String token = jwt.issue("user@example.com", false, Map.of("role", "USER"));
+
+        var first = jwt.parse(token);
+        var second = jwt.parse(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getBody().getSubject()).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void tamperedTokenIsRejectedAndNotCached() {
+        JwtService jwt = new JwtService(SECRET, 3600, 604800, 100);
+        String token = jwt.issue("user@example.com", false, Map.of("role", "USER"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwt.parse(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwt.parse(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void otherKeysTokensAreNotAccepted() {
+        JwtService ours = new JwtService(SECRET, 3600, 604800, 100);
+        JwtService theirs = new JwtService(SECRET.replace('t', 'x'), 3600, 604800, 100);
+        String token = theirs.issue("user@example.com", false, Map.of("role", "ADMIN"));
+
+        assertThatThrownBy(() -> ours.parse(token)).isInstanceOf(JwtException.class);
+    }
+}
@@ -0,0 +1,91 @@
+package edu.uga.csci4050.cinema.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingServiceTest {
+
+    private static ObjectProvider<MeterRegistry> registry(MeterRegistry registry) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("registry", registry);
+        return beans.getBeanProvider(MeterRegistry.class);
+    }
+
+    @Test
+    void encodesAndMatchesOnThePool() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        var hashing = new PasswordHashingService(new BCryptPasswordEncoder(4), registry(meters), 1, 4);
+
+        String hash = hashing.encode("secret");
+        assertThat(hashing.matches("secret", hash)).isTrue();
+        assertThat(hashing.matches("wrong", hash)).isFalse();
+        assertThat(meters.get("password.hashing").tag("op", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void lowerCostHashesAreUpgraded() {
+        String old = new BCryptPasswordEncoder(4).encode("secret");
+        var hashing = new PasswordHashingService(new BCryptPasswordEncoder(5), registry(new SimpleMeterRegistry()), 1, 4);
+
+        String upgraded = hashing.upgrade("secret", old).orElseThrow();
+        assertThat(upgraded).startsWith("$2a$05$");
+        assertThat(hashing.matches("secret", upgraded)).isTrue();
+        assertThat(hashing.upgrade("secret", upgraded)).isEmpty();
+    }
+
+    @Test
+    void saturatedPoolShedsWith429() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence raw) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return raw.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence raw, String encoded) {
+                return raw.toString().equals(encoded);
+            }
+        };
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        var hashing = new PasswordHashingService(blocking, registry(meters), 1, 1);
+
+        // One running, one queued: the pool is full
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hashing.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hashing.encode("b"));
+        while (meters.get("password.hashing.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> hashing.encode("c"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+        assertThat(meters.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("b");
+    }
+}
@@ -0,0 +1,75 @@
+package edu.uga.csci4050.cinema.security;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitFilterTest {
+
+    private final RateLimiter limiter = mock(RateLimiter.class);
+    private final RateLimitFilter filter = new RateLimitFilter(limiter);
+
+    @BeforeEach
+    void limitLogin() {
+        when(limiter.limits("/api/auth/login")).thenReturn(true);
+        when(limiter.tryAcquire(anyString(), any(), any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void bodyIsKeyedByEmailAndReplayedToTheController() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(login("{\"email\":\"a@x.com\",\"password\":\"pw\"}"), new MockHttpServletResponse(), chain);
+
+        verify(limiter).tryAcquire("/api/auth/login", "127.0.0.1", "a@x.com");
+        HttpServletRequest passed = (HttpServletRequest) chain.getRequest();
+        assertThat(new String(passed.getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                .contains("a@x.com");
+    }
+
+    @Test
+    void oversizedBodyIsRejectedWithoutBuffering() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        filter.doFilter(login("{\"email\":\"" + "a".repeat(20_000) + "\"}"), res, chain);
+
+        assertThat(res.getStatus()).isEqualTo(413);
+        assertThat(chain.getRequest()).isNull();
+        verify(limiter, never()).tryAcquire(anyString(), any(), any());
+    }
+
+    @Test
+    void readListenerIsToldTheBodyIsComplete() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(login("{}"), new MockHttpServletResponse(), chain);
+
+        ServletInputStream in = chain.getRequest().getInputStream();
+        ReadListener listener = mock(ReadListener.class);
+        in.setReadListener(listener);
+
+        verify(listener).onDataAvailable();
+        verify(listener).onAllDataRead();
+    }
+
+    private static MockHttpServletRequest login(String json) {
+        MockHttpServletRequest req = new MockHttpServletRequest("POST", "/api/auth/login");
+        req.setContentType("application/json");
+        req.setContent(json.getBytes(StandardCharsets.UTF_8));
+        return req;
+    }
+}
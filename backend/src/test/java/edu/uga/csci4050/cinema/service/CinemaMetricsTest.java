@@ -0,0 +1,38 @@
+package edu.uga.csci4050.cinema.service;
+
+import edu.uga.csci4050.cinema.repository.MailOutboxRepository;
+import edu.uga.csci4050.cinema.type.OutboxStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CinemaMetricsTest {
+
+    @Test
+    void countsBookingsAndReadsGaugesOnScrape() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SeatHoldService holds = mock(SeatHoldService.class);
+        MailOutboxRepository outbox = mock(MailOutboxRepository.class);
+        when(holds.activeHolds()).thenReturn(3);
+        when(outbox.countByStatus(OutboxStatus.PENDING)).thenReturn(7L);
+        CinemaMetrics metrics = new CinemaMetrics(registry, holds, outbox);
+
+        metrics.booked(2);
+        metrics.booked(4);
+        metrics.seatConflict();
+        metrics.ticketReturned(true);
+        metrics.ticketReturned(false);
+        metrics.ticketReturned(false);
+
+        assertThat(registry.get("cinema.bookings").counter().count()).isEqualTo(2);
+        assertThat(registry.get("cinema.seats.sold").counter().count()).isEqualTo(6);
+        assertThat(registry.get("cinema.seat.conflicts").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cinema.tickets.returned").tag("refund", "true").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cinema.tickets.returned").tag("refund", "false").counter().count()).isEqualTo(2);
+        assertThat(registry.get("cinema.holds.active").gauge().value()).isEqualTo(3);
+        assertThat(registry.get("cinema.mail.outbox.depth").gauge().value()).isEqualTo(7);
+    }
+}
@@ -0,0 +1,43 @@
+package edu.uga.csci4050.cinema.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HoldExpiryWheelTest {
+
+    @Test
+    void advance_expiresOnlyDueEntries() {
+        Instant t0 = Instant.parse("2030-01-01T00:00:00Z");
+        HoldExpiryWheel wheel = new HoldExpiryWheel(1000, 8, t0);
+        wheel.schedule("soon", t0.plusSeconds(2));
+        wheel.schedule("later", t0.plusSeconds(5));
+
+        assertThat(wheel.advance(t0.plusSeconds(1))).isEmpty();
+        assertThat(wheel.advance(t0.plusSeconds(3))).containsExactly("soon");
+        assertThat(wheel.advance(t0.plusSeconds(6))).containsExactly("later");
+    }
+
+    @Test
+    void advance_keepsEntriesBeyondOneRevolution() {
+        Instant t0 = Instant.parse("2030-01-01T00:00:00Z");
+        HoldExpiryWheel wheel = new HoldExpiryWheel(1000, 4, t0);
+        // Lands in the same slot as t0+2s but one revolution later
+        wheel.schedule("far", t0.plusSeconds(6));
+
+        assertThat(wheel.advance(t0.plusSeconds(2))).isEmpty();
+        assertThat(wheel.advance(t0.plusSeconds(7))).containsExactly("far");
+    }
+
+    @Test
+    void schedule_pastDeadlineExpiresOnNextAdvance() {
+        Instant t0 = Instant.parse("2030-01-01T00:00:00Z");
+        HoldExpiryWheel wheel = new HoldExpiryWheel(1000, 8, t0);
+        wheel.advance(t0.plusSeconds(3));
+        wheel.schedule("late", t0.plusSeconds(1));
+
+        assertThat(wheel.advance(t0.plusSeconds(3))).containsExactly("late");
+    }
+}
@@ -0,0 +1,126 @@
+package edu.uga.csci4050.cinema.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.result.UpdateResult;
+import edu.uga.csci4050.cinema.model.IdempotencyRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTest {
+
+    private final MongoTemplate mongo = mock(MongoTemplate.class);
+    private final IdempotencyService service = new IdempotencyService(mongo, new ObjectMapper(), 24, 30, 100);
+
+    @BeforeEach
+    void updatesMatch() {
+        when(mongo.updateFirst(any(Query.class), any(Update.class), eq(IdempotencyRecord.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+    }
+
+    @Test
+    void newKeyIsClaimedAndCompletedResponseIsReplayedFromMemory() {
+        IdempotencyService.Claim claim = service.begin("a@x.com", "k1", Map.of("seats", "A1"));
+        assertThat(claim.isReplay()).isFalse();
+        verify(mongo).insert(any(IdempotencyRecord.class));
+
+        service.complete(claim, 200, Map.of("id", "st1"));
+        verify(mongo).updateFirst(any(Query.class), any(Update.class), eq(IdempotencyRecord.class));
+
+        IdempotencyService.Claim retry = service.begin("A@x.com", "k1", Map.of("seats", "A1"));
+        assertThat(retry.isReplay()).isTrue();
+        assertThat(retry.replay().getStatus()).isEqualTo(200);
+        assertThat(service.body(retry.replay(), JsonNode.class).get("id").asText()).isEqualTo("st1");
+        verify(mongo, times(1)).insert(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void keyStillInProgressOnAnotherRequestIsAConflict() {
+        when(mongo.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("dup"));
+        IdempotencyRecord running = new IdempotencyRecord();
+        when(mongo.findById(anyString(), eq(IdempotencyRecord.class))).thenReturn(running);
+
+        assertThatThrownBy(() -> service.begin("a@x.com", "k1", Map.of("seats", "A1")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    void retryTakesOverAClaimWhoseLeaseRanOut() {
+        when(mongo.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("dup"));
+        when(mongo.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(IdempotencyRecord.class))).thenReturn(new IdempotencyRecord());
+
+        IdempotencyService.Claim claim = service.begin("a@x.com", "k1", Map.of("seats", "A1"));
+
+        assertThat(claim.isReplay()).isFalse();
+        ArgumentCaptor<Query> stale = ArgumentCaptor.forClass(Query.class);
+        verify(mongo).findAndModify(stale.capture(), any(Update.class), any(FindAndModifyOptions.class),
+                eq(IdempotencyRecord.class));
+        // Only an incomplete record for the same request, past its lease, is taken over
+        assertThat(stale.getValue().getQueryObject())
+                .containsEntry("completed", false)
+                .containsEntry("requestHash", claim.requestHash())
+                .containsKey("lockedUntil");
+    }
+
+    @Test
+    void completionOnlyCountsWhileTheLeaseIsHeld() {
+        IdempotencyService.Claim claim = service.begin("a@x.com", "k1", Map.of("seats", "A1"));
+        when(mongo.updateFirst(any(Query.class), any(Update.class), eq(IdempotencyRecord.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        service.complete(claim, 200, null);
+
+        ArgumentCaptor<Query> held = ArgumentCaptor.forClass(Query.class);
+        verify(mongo).updateFirst(held.capture(), any(Update.class), eq(IdempotencyRecord.class));
+        assertThat(held.getValue().getQueryObject().get("lockedUntil"))
+                .isIn(claim.lockedUntil(), Date.from(claim.lockedUntil()));
+        // Another request took the key over, so this outcome is not cached for replays
+        when(mongo.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("dup"));
+        when(mongo.findById(anyString(), eq(IdempotencyRecord.class))).thenReturn(new IdempotencyRecord());
+        assertThatThrownBy(() -> service.begin("a@x.com", "k1", Map.of("seats", "A1")))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void keyReusedForADifferentRequestIsRejected() {
+        IdempotencyService.Claim claim = service.begin("a@x.com", "k1", Map.of("seats", "A1"));
+        service.complete(claim, 200, null);
+
+        assertThatThrownBy(() -> service.begin("a@x.com", "k1", Map.of("seats", "B2")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+    }
+
+    @Test
+    void serverErrorsAreNotRemembered() {
+        IdempotencyService.Claim claim = service.begin("a@x.com", "k1", Map.of("seats", "A1"));
+        service.complete(claim, 500, null);
+
+        verify(mongo).remove(any(Query.class), eq(IdempotencyRecord.class));
+        verify(mongo, never()).updateFirst(any(Query.class), any(Update.class), eq(IdempotencyRecord.class));
+    }
+}
@@ -0,0 +1,120 @@
+package edu.uga.csci4050.cinema.service;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import edu.uga.csci4050.cinema.EmbeddedMongo;
+import edu.uga.csci4050.cinema.model.OutboxMail;
+import edu.uga.csci4050.cinema.repository.MailOutboxRepository;
+import edu.uga.csci4050.cinema.type.OutboxStatus;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends outbox mail to a local GreenMail SMTP server instead of a real one.
+ */
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "app.mail.outbox.max-attempts=2",
+        "app.mail.outbox.backoff-seconds=0"
+})
+class MailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @DynamicPropertySource
+    static void embeddedMongo(DynamicPropertyRegistry registry) {
+        EmbeddedMongo.register(registry, "cinema_test_mail");
+    }
+
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private MailDispatcher dispatcher;
+
+    @Autowired
+    private MailOutboxRepository outbox;
+
+    @AfterEach
+    void cleanup() {
+        outbox.deleteAll();
+    }
+
+    @Test
+    void send_onlyQueuesAndDispatcherDelivers() throws Exception {
+        mailService.send("user@example.com", "Booking confirmed", "Seats: A1, A2");
+
+        List<OutboxMail> queued = outbox.findAll();
+        assertThat(queued).hasSize(1);
+        assertThat(queued.get(0).getStatus()).isIn(OutboxStatus.PENDING, OutboxStatus.SENDING, OutboxStatus.SENT);
+
+        dispatcher.dispatchDue();
+        assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+        MimeMessage received = greenMail.getReceivedMessages()[0];
+        assertThat(received.getSubject()).isEqualTo("Booking confirmed");
+
+        OutboxMail sent = awaitStatus(queued.get(0).getId(), OutboxStatus.SENT);
+        assertThat(sent.getAttempts()).isEqualTo(1);
+        assertThat(sent.getSentAt()).isNotNull();
+    }
+
+    @Test
+    void failingMail_isRetriedThenDeadLettered() throws Exception {
+        greenMail.stop();
+        mailService.send("user@example.com", "Undeliverable", "body");
+        String id = outbox.findAll().get(0).getId();
+
+        // Zero backoff: the retry is due straight away
+        dispatcher.dispatchDue();
+        awaitAttempts(id, 1);
+        dispatcher.dispatchDue();
+
+        OutboxMail dead = awaitStatus(id, OutboxStatus.DEAD);
+        assertThat(dead.getAttempts()).isEqualTo(2);
+        assertThat(dead.getLastError()).isNotBlank();
+    }
+
+    private OutboxMail awaitStatus(String id, OutboxStatus status) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (Instant.now().isBefore(deadline)) {
+            OutboxMail mail = outbox.findById(id).orElseThrow();
+            if (mail.getStatus() == status) {
+                return mail;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("mail " + id + " never reached " + status);
+    }
+
+    private void awaitAttempts(String id, int attempts) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (Instant.now().isBefore(deadline)) {
+            OutboxMail mail = outbox.findById(id).orElseThrow();
+            if (mail.getAttempts() >= attempts && mail.getStatus() != OutboxStatus.SENDING) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("mail " + id + " never reached " + attempts + " attempts");
+    }
+}
@@ -0,0 +1,35 @@
+package edu.uga.csci4050.cinema.service;
+
+import edu.uga.csci4050.cinema.model.MovieItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieCatalogCacheTest {
+
+    @Test
+    void repeatedReadsLoadOnceUntilInvalidated() {
+        MovieCatalogCache cache = new MovieCatalogCache(100, 10);
+        AtomicInteger loads = new AtomicInteger();
+        MovieItem movie = new MovieItem();
+
+        for (int i = 0; i < 5; i++) {
+            cache.getMovie("m1", id -> {
+                loads.incrementAndGet();
+                return Optional.of(movie);
+            });
+        }
+        assertThat(loads).hasValue(1);
+
+        cache.invalidate("m1");
+        cache.getMovie("m1", id -> {
+            loads.incrementAndGet();
+            return Optional.of(movie);
+        });
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats().get("byId").get("hits")).isEqualTo(4L);
+    }
+}
@@ -0,0 +1,119 @@
+package edu.uga.csci4050.cinema.service;
+
+import edu.uga.csci4050.cinema.model.MovieItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MovieSearchIndexTest {
+
+    private MongoTemplate template;
+    private MovieSearchIndex index;
+
+    private static MovieItem movie(String id, String title, String... genres) {
+        MovieItem m = new MovieItem(title, List.of(genres), List.of(), null, null, null, List.of(), null, null, null);
+        m.setId(id);
+        return m;
+    }
+
+    private static List<String> ids(List<MovieItem> movies) {
+        return movies.stream().map(MovieItem::getId).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        template = mock(MongoTemplate.class);
+        when(template.findAll(MovieItem.class)).thenReturn(List.of(
+                movie("1", "The Matrix", "Action", "Sci-Fi"),
+                movie("2", "The Matrix Reloaded", "Action", "Sci-Fi"),
+                movie("3", "Matrix", "Documentary"),
+                movie("4", "Animatrix", "Animation"),
+                movie("5", "Toy Story", "Animation", "Comedy")));
+        index = new MovieSearchIndex(template);
+        index.rebuild();
+    }
+
+    @Test
+    void titleSubstring_isCaseInsensitiveAndRanked() {
+        // exact, then word start (shorter title first), then plain substring
+        assertThat(ids(index.search("MATRIX", null))).containsExactly("3", "1", "2", "4");
+        assertThat(index.search("zzz", null)).isEmpty();
+        // Short queries fall back to a substring check over all titles
+        assertThat(ids(index.search("ma", null))).containsExactlyInAnyOrder("1", "2", "3", "4");
+    }
+
+    @Test
+    void genres_areOredAndRankByMatches() {
+        assertThat(ids(index.search(null, List.of("comedy", "ANIMATION")))).containsExactly("5", "4");
+        assertThat(ids(index.search("matrix", List.of("sci-fi")))).containsExactly("1", "2");
+    }
+
+    @Test
+    void writesUpdateTheIndexIncrementally() {
+        index.index(movie("4", "Toy Story 2", "Animation"));
+        assertThat(ids(index.search("animatrix", null))).isEmpty();
+        assertThat(ids(index.search("toy story", null))).containsExactly("5", "4");
+
+        index.remove("5");
+        assertThat(ids(index.search("toy", List.of("animation")))).containsExactly("4");
+    }
+
+    @Test
+    void writesDuringARebuildAreNotLostToTheSnapshot() {
+        // The snapshot was read before the save and the delete landed
+        when(template.findAll(MovieItem.class)).thenAnswer(inv -> {
+            index.index(movie("6", "Heat", "Crime"));
+            index.remove("5");
+            return List.of(movie("4", "Animatrix", "Animation"), movie("5", "Toy Story", "Animation"));
+        });
+
+        index.refresh();
+
+        assertThat(ids(index.search("heat", null))).containsExactly("6");
+        assertThat(index.search("toy", null)).isEmpty();
+        assertThat(ids(index.search("animatrix", null))).containsExactly("4");
+    }
+
+    @Test
+    void concurrentSearchesLoadTheIndexOnce() throws Exception {
+        template = mock(MongoTemplate.class);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(template.findAll(MovieItem.class)).thenAnswer(inv -> {
+            reading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(movie("1", "The Matrix", "Action"));
+        });
+        index = new MovieSearchIndex(template);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<MovieItem>>> searches = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                searches.add(pool.submit(() -> index.search("matrix", null)));
+            }
+            assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+            for (Future<List<MovieItem>> search : searches) {
+                assertThat(ids(search.get(5, TimeUnit.SECONDS))).containsExactly("1");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(template, times(1)).findAll(MovieItem.class);
+    }
+}
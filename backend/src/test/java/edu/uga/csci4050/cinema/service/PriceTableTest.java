@@ -0,0 +1,55 @@
+package edu.uga.csci4050.cinema.service;
+
+import edu.uga.csci4050.cinema.model.TicketInfo;
+import edu.uga.csci4050.cinema.repository.TicketRepository;
+import edu.uga.csci4050.cinema.type.TicketType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PriceTableTest {
+
+    private static TicketInfo row(TicketType type, double price) {
+        TicketInfo info = new TicketInfo();
+        info.setId(type.name().toLowerCase());
+        info.setType(type);
+        info.setPrice(price);
+        return info;
+    }
+
+    @Test
+    void readsHitTheSnapshotNotTheRepository() {
+        TicketRepository repo = mock(TicketRepository.class);
+        when(repo.findAll()).thenReturn(List.of(row(TicketType.ADULT, 12), row(TicketType.CHILD, 8)));
+        PriceTable table = new PriceTable(repo);
+        table.refresh();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(table.price(TicketType.ADULT)).isEqualByComparingTo("12");
+        }
+        assertThat(table.price(TicketType.SENIOR)).isEqualByComparingTo(BigDecimal.ZERO);
+        verify(repo, times(1)).findAll();
+    }
+
+    @Test
+    void updatePublishesNewSnapshot() {
+        TicketRepository repo = mock(TicketRepository.class);
+        TicketInfo adult = row(TicketType.ADULT, 12);
+        when(repo.findAll()).thenReturn(List.of(adult));
+        when(repo.findByType(TicketType.ADULT)).thenReturn(Optional.of(adult));
+        PriceTable table = new PriceTable(repo);
+        table.refresh();
+
+        assertThat(table.update(TicketType.ADULT, 14.5)).isPresent();
+        assertThat(table.price(TicketType.ADULT)).isEqualByComparingTo("14.5");
+        assertThat(table.update(TicketType.CHILD, 9)).isEmpty();
+    }
+}
@@ -0,0 +1,92 @@
+package edu.uga.csci4050.cinema.service;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import edu.uga.csci4050.cinema.EmbeddedMongo;
+import edu.uga.csci4050.cinema.model.Promotion;
+import edu.uga.csci4050.cinema.model.User;
+import edu.uga.csci4050.cinema.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "app.promotions.batch-size=25",
+        "app.promotions.rate-per-second=1000"
+})
+class PromotionCampaignServiceTest {
+
+    private static final int SUBSCRIBERS = 120;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @DynamicPropertySource
+    static void embeddedMongo(DynamicPropertyRegistry registry) {
+        EmbeddedMongo.register(registry, "cinema_test_campaigns");
+    }
+
+    @Autowired
+    private PromotionCampaignService campaigns;
+
+    @Autowired
+    private UserRepository users;
+
+    @AfterEach
+    void cleanup() {
+        users.deleteAll();
+    }
+
+    @Test
+    void campaign_mailsEverySubscriberOnceInBackground() throws Exception {
+        List<User> seed = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS + 10; i++) {
+            User u = new User();
+            u.setEmail("user" + i + "@example.com");
+            u.setName("User " + i);
+            // The last ten have not opted in
+            u.setPromotionsOptIn(i < SUBSCRIBERS);
+            seed.add(u);
+        }
+        users.saveAll(seed);
+
+        Promotion promo = new Promotion();
+        promo.setId("p1");
+        promo.setCode("FALL10");
+        promo.setDiscountPercent(10);
+        promo.setStartDate(Instant.parse("2030-01-01T00:00:00Z"));
+        promo.setEndDate(Instant.parse("2030-02-01T00:00:00Z"));
+
+        PromotionCampaignService.Job job = campaigns.start(promo);
+        assertThat(job.getTotal()).isEqualTo(SUBSCRIBERS);
+
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(30));
+        while (job.getState() == PromotionCampaignService.State.RUNNING && Instant.now().isBefore(deadline)) {
+            Thread.sleep(50);
+        }
+        assertThat(job.getState()).isEqualTo(PromotionCampaignService.State.COMPLETED);
+        assertThat(job.getSent()).isEqualTo(SUBSCRIBERS);
+        assertThat(job.getFailed()).isZero();
+        assertThat(greenMail.getReceivedMessages()).hasSize(SUBSCRIBERS);
+        assertThat(campaigns.status("p1")).contains(job);
+    }
+}
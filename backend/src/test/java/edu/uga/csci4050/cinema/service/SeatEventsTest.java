@@ -0,0 +1,66 @@
+package edu.uga.csci4050.cinema.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatEventsTest {
+
+    private final SeatEvents events = new SeatEvents(new ObjectMapper());
+
+    @Test
+    void subscriberGetsSnapshotThenDeltasForItsShowtimeOnly() {
+        List<ServerSentEvent<String>> received = new CopyOnWriteArrayList<>();
+        Disposable sub = events.stream("st1", () -> Map.of("sold", List.of("A1"), "held", List.of()))
+                .subscribe(received::add);
+
+        events.publish("st1", SeatEvents.Kind.SOLD, List.of("A2", "A3"));
+        events.publish("st2", SeatEvents.Kind.SOLD, List.of("B1"));
+        events.publish("st1", SeatEvents.Kind.RELEASED, List.of("A1"));
+
+        assertThat(received).extracting(ServerSentEvent::event).containsExactly("snapshot", "sold", "released");
+        assertThat(received.get(0).data()).contains("\"sold\":[\"A1\"]");
+        assertThat(received.get(1).data()).isEqualTo("{\"seats\":[\"A2\",\"A3\"]}");
+        sub.dispose();
+    }
+
+    @Test
+    void everySubscriberGetsTheSameEvent() {
+        List<ServerSentEvent<String>> first = new CopyOnWriteArrayList<>();
+        List<ServerSentEvent<String>> second = new CopyOnWriteArrayList<>();
+        Disposable a = events.stream("st1", Map::of).subscribe(first::add);
+        Disposable b = events.stream("st1", Map::of).subscribe(second::add);
+
+        events.publish("st1", SeatEvents.Kind.HELD, List.of("C4"));
+
+        assertThat(first).hasSize(2);
+        assertThat(second).hasSize(2);
+        // Serialized once, shared by all subscribers
+        assertThat(first.get(1)).isSameAs(second.get(1));
+        a.dispose();
+        b.dispose();
+    }
+
+    @Test
+    void channelIsDroppedWhenLastSubscriberLeaves() {
+        Disposable a = events.stream("st1", Map::of).subscribe();
+        Disposable b = events.stream("st1", Map::of).subscribe();
+        assertThat(events.watchedShowtimes()).isEqualTo(1);
+
+        a.dispose();
+        assertThat(events.watchedShowtimes()).isEqualTo(1);
+        b.dispose();
+        assertThat(events.watchedShowtimes()).isZero();
+
+        // Nobody watching: a no-op
+        events.publish("st1", SeatEvents.Kind.SOLD, List.of("A1"));
+        assertThat(events.watchedShowtimes()).isZero();
+    }
+}
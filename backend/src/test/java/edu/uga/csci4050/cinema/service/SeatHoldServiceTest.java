@@ -0,0 +1,182 @@
+package edu.uga.csci4050.cinema.service;
+
+import edu.uga.csci4050.cinema.model.SeatHold;
+import edu.uga.csci4050.cinema.repository.SeatHoldRepository;
+import edu.uga.csci4050.cinema.repository.ShowroomRepository;
+import edu.uga.csci4050.cinema.repository.ShowtimeRepository;
+import edu.uga.csci4050.cinema.type.Showtime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SeatHoldServiceTest {
+
+    private final SeatHoldRepository holdRepository = mock(SeatHoldRepository.class);
+    private final ShowtimeRepository showtimeRepository = mock(ShowtimeRepository.class);
+    private final ShowroomRepository showroomRepository = mock(ShowroomRepository.class);
+    private final SeatEvents seatEvents = mock(SeatEvents.class);
+
+    @BeforeEach
+    void showtime() {
+        Showtime st = new Showtime("st1", "m1", Instant.now().plus(Duration.ofDays(1)), new String[] { "A9" }, "r1",
+                null);
+        when(showtimeRepository.findById("st1")).thenReturn(Optional.of(st));
+        when(showroomRepository.findSeatMap(anyString())).thenReturn(Optional.empty());
+    }
+
+    private SeatHoldService service(long ttlMinutes) {
+        return new SeatHoldService(holdRepository, showtimeRepository, showroomRepository, seatEvents, ttlMinutes, 4, 2);
+    }
+
+    @Test
+    void holdClaimsSeatsForItsOwnerOnly() {
+        SeatHoldService holds = service(8);
+        SeatHold hold = holds.hold("st1", List.of("A1", "A2"), "a@x.com");
+
+        assertThat(holds.heldSeats("st1")).containsExactlyInAnyOrder("A1", "A2");
+        assertThat(holds.isHeldByOther("st1", List.of("A2"), "b@x.com")).isTrue();
+        assertThat(holds.isHeldByOther("st1", List.of("A2"), "a@x.com")).isFalse();
+        assertThat(holds.find(hold.getToken(), "b@x.com")).isEmpty();
+        verify(holdRepository).save(hold);
+        verify(seatEvents).publish("st1", SeatEvents.Kind.HELD, hold.getSeats());
+    }
+
+    @Test
+    void conflictingHoldClaimsNothing() {
+        SeatHoldService holds = service(8);
+        holds.hold("st1", List.of("A1", "A2"), "a@x.com");
+
+        assertThatThrownBy(() -> holds.hold("st1", List.of("A3", "A2"), "b@x.com"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        // A3 was rolled back, so a third customer can take it
+        assertThat(holds.heldSeats("st1")).containsExactlyInAnyOrder("A1", "A2");
+        holds.hold("st1", List.of("A3"), "c@x.com");
+        assertThat(holds.activeHolds()).isEqualTo(2);
+    }
+
+    @Test
+    void soldSeatCannotBeHeld() {
+        SeatHoldService holds = service(8);
+
+        assertThatThrownBy(() -> holds.hold("st1", List.of("A9"), "a@x.com"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    void startedShowtimeCannotBeHeld() {
+        Showtime started = new Showtime("st0", "m1", Instant.now().minus(Duration.ofMinutes(5)), new String[0], "r1",
+                null);
+        when(showtimeRepository.findById("st0")).thenReturn(Optional.of(started));
+
+        assertThatThrownBy(() -> service(8).hold("st0", List.of("A1"), "a@x.com"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    void holdIsLimitedToMaxSeats() {
+        SeatHoldService holds = service(8);
+
+        assertThatThrownBy(() -> holds.hold("st1", List.of("A1", "A2", "A3", "A4", "A5"), "a@x.com"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        assertThat(holds.heldSeats("st1")).isEmpty();
+        // Duplicates count once
+        holds.hold("st1", List.of("A1", "A2", "A3", "A4", "A4"), "a@x.com");
+    }
+
+    @Test
+    void holderCannotKeepMoreThanMaxHolds() {
+        SeatHoldService holds = service(8);
+        holds.hold("st1", List.of("A1"), "a@x.com");
+        SeatHold second = holds.hold("st1", List.of("A2"), "a@x.com");
+
+        assertThatThrownBy(() -> holds.hold("st1", List.of("A3"), "a@x.com"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+        assertThat(holds.heldSeats("st1")).containsExactlyInAnyOrder("A1", "A2");
+        // Other customers are not affected
+        holds.hold("st1", List.of("A3"), "b@x.com");
+
+        // Releasing one frees a slot
+        assertThat(holds.release(second.getToken(), "a@x.com")).isTrue();
+        holds.hold("st1", List.of("A4"), "a@x.com");
+    }
+
+    @Test
+    void failedClaimDoesNotUseUpAHoldSlot() {
+        SeatHoldService holds = service(8);
+        holds.hold("st1", List.of("A1"), "b@x.com");
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> holds.hold("st1", List.of("A1"), "a@x.com"))
+                    .isInstanceOf(ResponseStatusException.class);
+        }
+
+        holds.hold("st1", List.of("A2"), "a@x.com");
+        holds.hold("st1", List.of("A3"), "a@x.com");
+    }
+
+    @Test
+    void consumeDropsTheHoldWithoutAnnouncingARelease() {
+        SeatHoldService holds = service(8);
+        SeatHold hold = holds.hold("st1", List.of("A1"), "a@x.com");
+
+        assertThat(holds.consume(hold.getToken(), "b@x.com")).isFalse();
+        assertThat(holds.consume(hold.getToken(), "a@x.com")).isTrue();
+
+        assertThat(holds.heldSeats("st1")).isEmpty();
+        assertThat(holds.trackedShowtimes()).isZero();
+        verify(holdRepository).deleteById(hold.getToken());
+        verify(seatEvents, never()).publish(eq("st1"), eq(SeatEvents.Kind.RELEASED), any());
+    }
+
+    @Test
+    void expiredHoldNoLongerBlocksAndIsSweptWithARelease() {
+        SeatHoldService holds = service(0);
+        SeatHold hold = holds.hold("st1", List.of("A1"), "a@x.com");
+
+        assertThat(holds.isHeldByOther("st1", List.of("A1"), "b@x.com")).isFalse();
+        assertThat(holds.heldSeats("st1")).isEmpty();
+
+        holds.expire();
+        assertThat(holds.activeHolds()).isZero();
+        assertThat(holds.trackedShowtimes()).isZero();
+        verify(seatEvents).publish("st1", SeatEvents.Kind.RELEASED, hold.getSeats());
+    }
+
+    @Test
+    void restoreRebuildsLiveHoldsFromTheCollection() {
+        SeatHold stored = new SeatHold();
+        stored.setToken("t1");
+        stored.setShowtimeId("st1");
+        stored.setSeats(List.of("B1", "B2"));
+        stored.setHolderEmail("a@x.com");
+        stored.setExpiresAt(Instant.now().plus(Duration.ofMinutes(5)));
+        when(holdRepository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of(stored));
+
+        SeatHoldService holds = service(8);
+        holds.restore();
+
+        assertThat(holds.heldSeats("st1")).containsExactlyInAnyOrder("B1", "B2");
+        assertThat(holds.find("t1", "a@x.com")).contains(stored);
+        assertThat(holds.isHeldByOther("st1", List.of("B1"), "b@x.com")).isTrue();
+    }
+}
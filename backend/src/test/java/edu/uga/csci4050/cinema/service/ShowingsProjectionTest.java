@@ -0,0 +1,95 @@
+package edu.uga.csci4050.cinema.service;
+
+import edu.uga.csci4050.cinema.repository.ShowtimeRepository;
+import edu.uga.csci4050.cinema.type.ShowtimeSummary;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ShowingsProjectionTest {
+
+    @Test
+    void rebuildSplitsStartedFromScheduled() {
+        Instant now = Instant.now();
+        ShowtimeRepository repo = mock(ShowtimeRepository.class);
+        when(repo.findSummaries(null, null, null)).thenReturn(List.of(
+                new ShowtimeSummary("s1", "m1", "r1", now.minus(Duration.ofHours(1))),
+                new ShowtimeSummary("s2", "m1", "r1", now.plus(Duration.ofHours(1))),
+                new ShowtimeSummary("s3", "m2", "r1", now.plus(Duration.ofDays(1)))));
+        ShowingsProjection showings = new ShowingsProjection(repo, 180);
+        showings.rebuild();
+
+        assertThat(showings.nowShowing()).containsExactly("m1");
+        assertThat(showings.upcoming()).containsExactly("m2");
+    }
+
+    @Test
+    void addAndRemoveKeepTheSetsCurrent() {
+        ShowtimeRepository repo = mock(ShowtimeRepository.class);
+        ShowingsProjection showings = new ShowingsProjection(repo, 180);
+        Instant later = Instant.now().plus(Duration.ofHours(2));
+        Instant earlier = Instant.now().minus(Duration.ofMinutes(5));
+
+        showings.showtimeAdded("m1", later);
+        assertThat(showings.upcoming()).containsExactly("m1");
+
+        showings.showtimeAdded("m1", earlier);
+        assertThat(showings.nowShowing()).containsExactly("m1");
+        assertThat(showings.upcoming()).isEmpty();
+
+        showings.showtimeRemoved("m1", earlier);
+        assertThat(showings.upcoming()).containsExactly("m1");
+
+        showings.showtimeRemoved("m1", later);
+        assertThat(showings.upcoming()).isEmpty();
+        assertThat(showings.nowShowing()).isEmpty();
+    }
+
+    @Test
+    void tickPromotesMoviesOnceTheirShowtimeStarts() throws Exception {
+        ShowingsProjection showings = new ShowingsProjection(mock(ShowtimeRepository.class), 180);
+        showings.showtimeAdded("m1", Instant.now().plusMillis(50));
+        assertThat(showings.upcoming()).containsExactly("m1");
+
+        Thread.sleep(100);
+        showings.tick();
+
+        assertThat(showings.nowShowing()).containsExactly("m1");
+        assertThat(showings.upcoming()).isEmpty();
+    }
+
+    @Test
+    void moviesWhoseShowtimesAreAllOverAreNotListed() {
+        Instant now = Instant.now();
+        ShowtimeRepository repo = mock(ShowtimeRepository.class);
+        when(repo.findSummaries(null, null, null)).thenReturn(List.of(
+                new ShowtimeSummary("s1", "m1", "r1", now.minus(Duration.ofDays(30))),
+                new ShowtimeSummary("s2", "m1", "r1", now.minus(Duration.ofDays(2))),
+                new ShowtimeSummary("s3", "m2", "r1", now.minus(Duration.ofDays(2))),
+                new ShowtimeSummary("s4", "m2", "r1", now.minus(Duration.ofHours(1)))));
+        ShowingsProjection showings = new ShowingsProjection(repo, 180);
+        showings.rebuild();
+
+        assertThat(showings.nowShowing()).containsExactly("m2");
+        assertThat(showings.upcoming()).isEmpty();
+    }
+
+    @Test
+    void tickRetiresMoviesOnceTheirLastShowtimeIsOver() throws Exception {
+        ShowingsProjection showings = new ShowingsProjection(mock(ShowtimeRepository.class), 180);
+        showings.showtimeAdded("m1", Instant.now().minus(Duration.ofMinutes(180)).plusMillis(50));
+        assertThat(showings.nowShowing()).containsExactly("m1");
+
+        Thread.sleep(100);
+        showings.tick();
+
+        assertThat(showings.nowShowing()).isEmpty();
+        assertThat(showings.upcoming()).isEmpty();
+    }
+}
@@ -0,0 +1,46 @@
+package edu.uga.csci4050.cinema.service;
+
+import edu.uga.csci4050.cinema.model.User;
+import edu.uga.csci4050.cinema.repository.UserRepository;
+import edu.uga.csci4050.cinema.type.UserPrincipalView;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserPrincipalCacheTest {
+
+    private static UserPrincipalView view(User.Status status) {
+        return new UserPrincipalView("u1", "fan@example.com", "Fan", User.Role.USER, status);
+    }
+
+    @Test
+    void repeatedLookupsHitTheCacheRegardlessOfCase() {
+        UserRepository repo = mock(UserRepository.class);
+        when(repo.findPrincipalByEmail("fan@example.com")).thenReturn(Optional.of(view(User.Status.ACTIVE)));
+        UserPrincipalCache cache = new UserPrincipalCache(repo, 100, 30);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.get(i % 2 == 0 ? "fan@example.com" : "Fan@Example.com")).isPresent();
+        }
+        verify(repo, times(1)).findPrincipalByEmail("fan@example.com");
+    }
+
+    @Test
+    void invalidateReloadsTheChangedUser() {
+        UserRepository repo = mock(UserRepository.class);
+        when(repo.findPrincipalByEmail("fan@example.com"))
+                .thenReturn(Optional.of(view(User.Status.ACTIVE)))
+                .thenReturn(Optional.of(view(User.Status.SUSPENDED)));
+        UserPrincipalCache cache = new UserPrincipalCache(repo, 100, 30);
+
+        assertThat(cache.get("fan@example.com")).map(UserPrincipalView::status).contains(User.Status.ACTIVE);
+        cache.invalidate("fan@example.com");
+        assertThat(cache.get("fan@example.com")).map(UserPrincipalView::status).contains(User.Status.SUSPENDED);
+    }
+}
@@ -0,0 +1,49 @@
+package edu.uga.csci4050.cinema.type;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatMapTest {
+
+    @Test
+    void labelsRoundTripThroughIndexes() {
+        SeatMap map = new SeatMap(30, 10);
+        for (int i = 0; i < map.capacity(); i++) {
+            assertThat(map.indexOf(map.labelOf(i))).isEqualTo(i);
+        }
+        assertThat(map.indexOf("A1")).isZero();
+        assertThat(map.indexOf("B3")).isEqualTo(12);
+        assertThat(map.labelOf(260)).isEqualTo("AA1");
+    }
+
+    @Test
+    void rejectsSeatsOutsideLayout() {
+        SeatMap map = new SeatMap(5, 8);
+        assertThat(map.indexOf("F1")).isEqualTo(-1);
+        assertThat(map.indexOf("A9")).isEqualTo(-1);
+        assertThat(map.indexOf("A0")).isEqualTo(-1);
+        assertThat(map.indexOf("12")).isEqualTo(-1);
+        assertThatThrownBy(() -> map.mask(List.of("Z1"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void threeHundredSeatsFitInFortyBytes() {
+        SeatMap map = new SeatMap(15, 20);
+        long[] sold = map.mask(List.of("A1", "O20", "H7"));
+        assertThat(SeatMap.toBytes(sold)).hasSize(40);
+        assertThat(map.labels(sold)).containsExactly("A1", "H7", "O20");
+    }
+
+    @Test
+    void intersectsDetectsSharedSeats() {
+        SeatMap map = new SeatMap(5, 8);
+        long[] sold = map.mask(List.of("A1", "C4"));
+        assertThat(SeatMap.intersects(sold, map.mask(List.of("C4", "C5")))).isTrue();
+        assertThat(SeatMap.intersects(sold, map.mask(List.of("C5")))).isFalse();
+        assertThat(SeatMap.positions(map.mask(List.of("A1", "A3"))[0])).containsExactly(0, 2);
+    }
+}
@@ -2,6 +2,7 @@ package edu.uga.csci4050.cinema.util;
 
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import edu.uga.csci4050.cinema.EmbeddedMongo;
 import org.bson.Document;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -22,6 +25,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class DatabaseMigrationUtilTest {
 
+    @DynamicPropertySource
+    static void embeddedMongo(DynamicPropertyRegistry registry) {
+        EmbeddedMongo.register(registry, "cinema_test_migrations");
+    }
+
     @Autowired
     private MongoTemplate mongoTemplate;
 
@@ -34,6 +42,9 @@ class DatabaseMigrationUtilTest {
         db.getCollection("promotions").deleteMany(new Document());
         db.getCollection("movies").deleteMany(new Document());
         db.getCollection("showrooms").deleteMany(new Document());
+        db.getCollection("showtimes").deleteMany(new Document());
+        db.getCollection("users").deleteMany(new Document());
+        db.getCollection("tickets").deleteMany(new Document());
     }
 
     @Test
@@ -126,4 +137,142 @@ class DatabaseMigrationUtilTest {
         assertThat(startOut).isNotInstanceOf(Document.class);
         assertThat(startOut).isInstanceOfAny(Instant.class, java.util.Date.class);
     }
+
+    @Test
+    void splitShowtimes_movesEmbeddedShowtimesToOwnCollection() {
+        MongoDatabase db = mongoTemplate.getDb();
+        MongoCollection<Document> showrooms = db.getCollection("showrooms");
+        MongoCollection<Document> showtimes = db.getCollection("showtimes");
+
+        java.util.Date start = java.util.Date.from(Instant.parse("2025-11-26T19:30:00Z"));
+        List<Document> embedded = new ArrayList<>();
+        embedded.add(new Document("_id", "st1").append("movieId", "m1").append("start", start)
+                .append("bookedSeats", List.of("A1")));
+        embedded.add(new Document("movieId", "m2").append("start", start));
+
+        Document room = new Document("name", "Room 1").append("showtimes", embedded);
+        showrooms.insertOne(room);
+
+        migrationUtil.splitShowtimes();
+        // Idempotent: a second run must not duplicate anything
+        migrationUtil.splitShowtimes();
+
+        Document outRoom = showrooms.find(new Document("_id", room.get("_id"))).first();
+        assertThat(outRoom).isNotNull();
+        assertThat(outRoom.containsKey("showtimes")).isFalse();
+
+        assertThat(showtimes.countDocuments()).isEqualTo(2);
+        Document st1 = showtimes.find(new Document("_id", "st1")).first();
+        assertThat(st1).isNotNull();
+        assertThat(st1.getString("roomId")).isEqualTo(room.get("_id").toString());
+        assertThat(st1.getList("bookedSeats", String.class)).containsExactly("A1");
+        Document st2 = showtimes.find(new Document("movieId", "m2")).first();
+        assertThat(st2).isNotNull();
+        assertThat(st2.get("_id")).isInstanceOf(String.class);
+    }
+
+    @Test
+    void splitShowtimes_rerunAfterInterruptionDoesNotCopyIdlessShowtimesAgain() {
+        MongoDatabase db = mongoTemplate.getDb();
+        MongoCollection<Document> showrooms = db.getCollection("showrooms");
+        MongoCollection<Document> showtimes = db.getCollection("showtimes");
+
+        java.util.Date start = java.util.Date.from(Instant.parse("2025-11-26T19:30:00Z"));
+        List<Document> embedded = List.of(new Document("movieId", "m2").append("start", start));
+        Document room = new Document("name", "Room 1").append("showtimes", embedded);
+        showrooms.insertOne(room);
+
+        migrationUtil.splitShowtimes();
+        // Interrupted before the embedded list was removed
+        showrooms.updateOne(new Document("_id", room.get("_id")),
+                new Document("$set", new Document("showtimes", embedded)));
+        migrationUtil.splitShowtimes();
+
+        assertThat(showtimes.countDocuments()).isEqualTo(1);
+        Document st = showtimes.find().first();
+        assertThat(st.getString("roomId")).isEqualTo(room.get("_id").toString());
+        assertThat(st.getString("movieId")).isEqualTo("m2");
+        assertThat(st.getDate("start")).isEqualTo(start);
+    }
+
+    @Test
+    void dedupeShowtimes_mergesSeatsIntoOneShowtime() {
+        MongoDatabase db = mongoTemplate.getDb();
+        MongoCollection<Document> showtimes = db.getCollection("showtimes");
+        MongoCollection<Document> tickets = db.getCollection("tickets");
+
+        java.util.Date start = java.util.Date.from(Instant.parse("2025-11-26T19:30:00Z"));
+        showtimes.insertOne(new Document("_id", "a").append("roomId", "r1").append("movieId", "m1")
+                .append("start", start).append("bookedSeats", List.of("A1")).append("soldSeats", List.of(0b1L)));
+        showtimes.insertOne(new Document("_id", "b").append("roomId", "r1").append("movieId", "m1")
+                .append("start", start).append("bookedSeats", List.of("A1", "B2")).append("soldSeats", List.of(0b100L)));
+        showtimes.insertOne(new Document("_id", "c").append("roomId", "r2").append("movieId", "m1")
+                .append("start", start).append("bookedSeats", List.of("C3")));
+        tickets.insertOne(new Document("_id", "t1").append("showtimeId", "b"));
+
+        migrationUtil.dedupeShowtimes();
+
+        assertThat(showtimes.countDocuments()).isEqualTo(2);
+        Document kept = showtimes.find(new Document("_id", "a")).first();
+        assertThat(kept.getList("bookedSeats", String.class)).containsExactlyInAnyOrder("A1", "B2");
+        assertThat(kept.getList("soldSeats", Long.class)).containsExactly(0b101L);
+        assertThat(showtimes.find(new Document("_id", "c")).first().getList("bookedSeats", String.class))
+                .containsExactly("C3");
+        assertThat(tickets.find(new Document("_id", "t1")).first().getString("showtimeId")).isEqualTo("a");
+    }
+
+    @Test
+    void moveTickets_movesEmbeddedTicketsToOwnCollection() {
+        MongoDatabase db = mongoTemplate.getDb();
+        MongoCollection<Document> users = db.getCollection("users");
+        MongoCollection<Document> tickets = db.getCollection("tickets");
+
+        java.util.Date showtime = java.util.Date.from(Instant.parse("2025-11-26T19:30:00Z"));
+        List<Document> embedded = new ArrayList<>();
+        embedded.add(new Document("ticketNumber", "t1").append("movieId", "m1").append("showroomId", "r1")
+                .append("showtime", showtime).append("seats", List.of("A1", "A2")));
+        embedded.add(new Document("movieId", "m2").append("showtime", showtime));
+
+        Document user = new Document("email", "fan@example.com").append("tickets", embedded);
+        users.insertOne(user);
+
+        migrationUtil.moveTickets();
+        // Idempotent: a second run must not duplicate anything
+        migrationUtil.moveTickets();
+
+        Document outUser = users.find(new Document("_id", user.get("_id"))).first();
+        assertThat(outUser).isNotNull();
+        assertThat(outUser.containsKey("tickets")).isFalse();
+
+        assertThat(tickets.countDocuments()).isEqualTo(2);
+        Document t1 = tickets.find(new Document("_id", "t1")).first();
+        assertThat(t1).isNotNull();
+        assertThat(t1.getString("userEmail")).isEqualTo("fan@example.com");
+        assertThat(t1.getList("seats", String.class)).containsExactly("A1", "A2");
+        assertThat(t1.containsKey("ticketNumber")).isFalse();
+    }
+
+    @Test
+    void buildSeatMaps_movesLayoutSeatsIntoTheBitmap() {
+        MongoDatabase db = mongoTemplate.getDb();
+        MongoCollection<Document> showtimes = db.getCollection("showtimes");
+
+        db.getCollection("showrooms").insertOne(new Document("_id", "r1").append("rows", 2).append("seatsPerRow", 3));
+        showtimes.insertOne(new Document("_id", "st1").append("roomId", "r1").append("movieId", "m1")
+                .append("bookedSeats", List.of("A1", "B3", "Z99")));
+        showtimes.insertOne(new Document("_id", "st2").append("roomId", "r1").append("movieId", "m1")
+                .append("bookedSeats", List.of("A2")));
+
+        migrationUtil.buildSeatMaps();
+
+        Document st1 = showtimes.find(new Document("_id", "st1")).first();
+        assertThat(st1).isNotNull();
+        // A1 is bit 0 and B3 bit 5; Z99 is not on the layout and stays a label
+        assertThat(st1.getList("soldSeats", Long.class)).containsExactly(0b100001L);
+        assertThat(st1.getList("bookedSeats", String.class)).containsExactly("Z99");
+        Document st2 = showtimes.find(new Document("_id", "st2")).first();
+        assertThat(st2).isNotNull();
+        assertThat(st2.getList("soldSeats", Long.class)).containsExactly(0b10L);
+        assertThat(st2.containsKey("bookedSeats")).isFalse();
+    }
 }
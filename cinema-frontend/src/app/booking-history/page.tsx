@@ -1,6 +1,6 @@
 "use client";
 
-import { useEffect, useState } from "react";
+import { useCallback, useEffect, useState } from "react";
 import { useRouter } from "next/navigation";
 import { getToken } from "@/libs/authStore";
 import "./booking-history.css";
@@ -30,32 +30,46 @@ export default function BookingHistoryPage() {
   const [error, setError] = useState<string | null>(null);
   const [returningTicket, setReturningTicket] = useState<string | null>(null);
 
-  useEffect(() => {
-    const fetchBookingHistory = async () => {
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+
+  // Tickets come newest first, one page at a time
+  const fetchTicketPage = useCallback(
+    async (before?: string) => {
       const token = getToken();
       if (!token) {
         router.push("/login");
-        return;
+        return null;
       }
 
-      try {
-        const response = await fetch(`${API_URL}/profile`, {
-          headers: {
-            Authorization: `Bearer ${token}`,
-          },
-        });
+      const params = before ? `?before=${encodeURIComponent(before)}` : "";
+      const response = await fetch(`${API_URL}/profile/tickets${params}`, {
+        headers: {
+          Authorization: `Bearer ${token}`,
+        },
+      });
 
-        if (response.status === 401) {
-          router.push("/login");
-          return;
-        }
+      if (response.status === 401) {
+        router.push("/login");
+        return null;
+      }
 
-        if (!response.ok) {
-          throw new Error("Failed to fetch booking history");
-        }
+      if (!response.ok) {
+        throw new Error("Failed to fetch booking history");
+      }
+
+      const page: TicketRecord[] = await response.json();
+      setNextCursor(response.headers.get("X-Next-Cursor"));
+      return page;
+    },
+    [router]
+  );
 
-        const data = await response.json();
-        setTickets(data.tickets || []);
+  useEffect(() => {
+    const fetchBookingHistory = async () => {
+      try {
+        const page = await fetchTicketPage();
+        if (page) setTickets(page);
       } catch (err) {
         console.error("Error fetching booking history:", err);
         setError("Failed to load booking history");
@@ -65,7 +79,21 @@ export default function BookingHistoryPage() {
     };
 
     fetchBookingHistory();
-  }, [router]);
+  }, [fetchTicketPage]);
+
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    try {
+      const page = await fetchTicketPage(nextCursor);
+      if (page) setTickets((prev) => [...prev, ...page]);
+    } catch (err) {
+      console.error("Error fetching booking history:", err);
+      alert("Failed to load more bookings");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
 
   const formatDate = (isoString: string) => {
     const date = new Date(isoString);
@@ -295,6 +323,15 @@ export default function BookingHistoryPage() {
                 </div>
               );
             })}
+          {nextCursor && (
+            <button
+              onClick={loadMore}
+              disabled={loadingMore}
+              className="back-button"
+            >
+              {loadingMore ? "Loading..." : "Load More"}
+            </button>
+          )}
         </div>
       )}
     </div>
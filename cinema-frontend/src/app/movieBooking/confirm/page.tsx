@@ -1,6 +1,7 @@
 "use client";
 
-import React, { useState, useEffect } from "react";
+import React, { useState, useEffect, useRef } from "react";
+import axios from "axios";
 import { useSearchParams, useRouter } from "next/navigation";
 import { dateReviver, useMovies } from "@/libs/cinemaApi";
 import api from "@/libs/apiClient";
@@ -31,6 +32,8 @@ export default function ConfirmPage() {
 
   const [prices, setPrices] = useState({ adult: 0, child: 0, senior: 0 });
   const [loading, setLoading] = useState(false);
+  // One key per checkout attempt so a retried submit can't book twice
+  const idempotencyKey = useRef<string>(crypto.randomUUID());
   const [error, setError] = useState<string | null>(null);
   const [promoCode, setPromoCode] = useState<string>("");
   const [appliedPromo, setAppliedPromo] = useState<{
@@ -262,12 +265,16 @@ export default function ConfirmPage() {
     setLoading(true);
     setError(null);
     try {
-      const resp = await api.post("/bookings", {
-        showtime,
-        seats,
-        ticketCounts: { adult, child, senior },
-        paymentCardId: selectedCardId,
-      });
+      const resp = await api.post(
+        "/bookings",
+        {
+          showtime,
+          seats,
+          ticketCounts: { adult, child, senior },
+          paymentCardId: selectedCardId,
+        },
+        { headers: { "Idempotency-Key": idempotencyKey.current } }
+      );
       const saved = resp.data;
 
       const booking = {
@@ -284,7 +291,7 @@ export default function ConfirmPage() {
             }
           : null,
         confirmedAt: new Date().toISOString(),
-        backendShowroom: saved.id,
+        backendShowroom: saved.roomId,
       };
 
       try {
@@ -296,6 +303,11 @@ export default function ConfirmPage() {
       setShowSuccessModal(true);
       setSavedBooking(booking);
     } catch (err: unknown) {
+      // The server answered, so the next submit is a new attempt. On a network
+      // error the key is kept and a retry gets the original result back.
+      if (axios.isAxiosError(err) && err.response) {
+        idempotencyKey.current = crypto.randomUUID();
+      }
       if (err instanceof Error) {
         console.error("Booking failed:", err);
         setError(err.message || "Failed to book seats");
@@ -1,16 +1,11 @@
 "use client";
 
 import { useSearchParams } from "next/navigation";
-import {
-  dateReviver,
-  formatDateTime,
-  Showroom,
-  useMovies,
-} from "@/libs/cinemaApi";
+import { dateReviver, formatDateTime, useMovies } from "@/libs/cinemaApi";
 import Link from "next/link";
 import React, { useEffect, useState } from "react";
 import ValidatedImage from "@/components/ValidatedImage";
-import { Showtime } from "@/models/shows";
+import { ShowtimeSummary } from "@/models/shows";
 
 // === NEW: HARDCODED UNAVAILABLE SEATS ===
 // const UNAVAILABLE_SEATS = ["C4", "C5", "D2"];
@@ -55,6 +50,40 @@ const Seat: React.FC<SeatProps> = ({
   );
 };
 
+// Sold-seat bitmap as returned by GET /api/showtimes/{id}/seatmap
+interface SeatMapResponse {
+  rows: number;
+  seatsPerRow: number;
+  sold: string; // base64, little-endian 64-bit words
+}
+
+// Row labels run A..Z, then AA, AB, ... (same as the backend's SeatMap)
+function rowLabel(row: number): string {
+  let n = row + 1;
+  let label = "";
+  while (n > 0) {
+    n--;
+    label = String.fromCharCode(65 + (n % 26)) + label;
+    n = Math.floor(n / 26);
+  }
+  return label;
+}
+
+function soldSeatLabels(map: SeatMapResponse): string[] {
+  // Bit i of the bitmap is bit (i % 8) of byte (i / 8)
+  const bytes = Uint8Array.from(atob(map.sold), (c) => c.charCodeAt(0));
+  const labels: string[] = [];
+  const capacity = Math.min(map.rows * map.seatsPerRow, bytes.length * 8);
+  for (let i = 0; i < capacity; i++) {
+    if (bytes[i >> 3] & (1 << (i & 7))) {
+      labels.push(
+        rowLabel(Math.floor(i / map.seatsPerRow)) + ((i % map.seatsPerRow) + 1)
+      );
+    }
+  }
+  return labels;
+}
+
 // Define the seat layout for the cinema
 const rows = [
   ["A1", "A2", "A3", "A4", "A5", "A6", "A7", "A8"],
@@ -69,10 +98,9 @@ const rows = [
 export default function Home() {
   const params = useSearchParams();
   const raw = params.get("showtime");
-  const showtime: Showtime = raw
+  const showtime: ShowtimeSummary = raw
     ? JSON.parse(decodeURIComponent(raw), dateReviver)
     : null;
-  const UNAVAILABLE_SEATS = showtime?.bookedSeats || [];
 
   const { movies, status } = useMovies({ id: showtime.movieId || "0" });
 
@@ -92,16 +120,78 @@ export default function Home() {
   const [selectedSeats, setSelectedSeats] = useState<string[]>([]);
   const [selectionError, setSelectionError] = useState<string>("");
 
-  // Showroom state
-  const [showroom, setShowroom] = useState<Showroom | null>(null);
+  // Sold seats of this showtime only, from its seat bitmap
+  const [soldSeats, setSoldSeats] = useState<string[]>([]);
+
+  useEffect(() => {
+    if (!showtime?.id) return;
+    fetch(`http://localhost:8080/api/showtimes/${showtime.id}/seatmap`, {
+      headers: { Accept: "application/json" },
+    })
+      .then((res) => (res.ok ? res.json() : null))
+      .then((data: SeatMapResponse | null) =>
+        // Rooms without a layout have no bitmap; the live snapshot covers them
+        setSoldSeats(data ? soldSeatLabels(data) : [])
+      )
+      .catch(() => setSoldSeats([]));
+  }, [showtime?.id]);
+
+  // Live sold/held seats pushed by the server once the stream is open
+  const [liveSeats, setLiveSeats] = useState<{
+    sold: Set<string>;
+    held: Set<string>;
+  } | null>(null);
 
   useEffect(() => {
-    // Fetch all showrooms
-    fetch(`http://localhost:8080/api/showrooms/${showtime?.roomId}/showtimes`)
-      .then((res) => res.json())
-      .then((data: Showroom) => setShowroom(data))
-      .catch(() => setShowroom({ id: "error", showtimes: [] }));
-  }, [showtime?.roomId]);
+    if (!showtime?.id) return;
+    const source = new EventSource(
+      `http://localhost:8080/api/showtimes/${showtime.id}/seats/stream`
+    );
+    const seatsOf = (e: MessageEvent) =>
+      (JSON.parse(e.data).seats || []) as string[];
+    source.addEventListener("snapshot", (e) => {
+      const data = JSON.parse((e as MessageEvent).data);
+      setLiveSeats({ sold: new Set(data.sold), held: new Set(data.held) });
+    });
+    source.addEventListener("sold", (e) => {
+      const seats = seatsOf(e as MessageEvent);
+      setLiveSeats((prev) => {
+        if (!prev) return prev;
+        const sold = new Set(prev.sold);
+        const held = new Set(prev.held);
+        seats.forEach((s) => {
+          sold.add(s);
+          held.delete(s);
+        });
+        return { sold, held };
+      });
+    });
+    source.addEventListener("held", (e) => {
+      const seats = seatsOf(e as MessageEvent);
+      setLiveSeats((prev) =>
+        prev ? { sold: prev.sold, held: new Set([...prev.held, ...seats]) } : prev
+      );
+    });
+    source.addEventListener("released", (e) => {
+      const seats = seatsOf(e as MessageEvent);
+      setLiveSeats((prev) => {
+        if (!prev) return prev;
+        const sold = new Set(prev.sold);
+        const held = new Set(prev.held);
+        seats.forEach((s) => {
+          sold.delete(s);
+          held.delete(s);
+        });
+        return { sold, held };
+      });
+    });
+    return () => source.close();
+  }, [showtime?.id]);
+
+  // Booked seats come from the seat map until the live stream has a snapshot
+  const UNAVAILABLE_SEATS = liveSeats
+    ? [...liveSeats.sold, ...liveSeats.held]
+    : soldSeats;
 
   const handleSelectSeat = (seatNumber: string) => {
     // Prevent selection if seat is unavailable
@@ -192,7 +282,7 @@ export default function Home() {
       />
       <p className="text-lg">Showtime: {formatDateTime(showtime.start)}</p>
 
-      <p className="text-lg">Showroom: {showroom?.id}</p>
+      <p className="text-lg">Showroom: {showtime?.roomId}</p>
 
       {/* === TICKET SELECTION SECTION === */}
       <div className="flex flex-col items-center space-y-4 w-full max-w-sm p-4 border border-gray-700 rounded-lg">
@@ -8,7 +8,7 @@ import Link from "next/link";
 import "./movieDetails.css";
 import { getShowtimesForMovie } from "@/libs/showingsApi";
 import { formatDateTime } from "@/utils/dateTimeUtil";
-import { Showtime } from "@/models/shows";
+import { ShowtimeSummary } from "@/models/shows";
 
 function safeImageSrc(src?: string | null) {
   const placeholder = "/poster_loading.png";
@@ -28,13 +28,13 @@ export default function Home() {
   const movieId = params.get("id");
 
   const { movies, status } = useMovies({ id: movieId || "0" });
-  const [showtimes, setShowtimes] = useState<Showtime[] | null>(null);
-  const [selectedShowtime, setSelectedShowtime] = useState<Showtime | null>(
+  const [showtimes, setShowtimes] = useState<ShowtimeSummary[] | null>(null);
+  const [selectedShowtime, setSelectedShowtime] = useState<ShowtimeSummary | null>(
     null
   );
   const [isShowtimeOpen, setIsShowtimeOpen] = useState(false);
 
-  const onPickShowtime = (show: Showtime) => {
+  const onPickShowtime = (show: ShowtimeSummary) => {
     setSelectedShowtime(show);
     setIsShowtimeOpen(true);
   };
@@ -171,7 +171,7 @@ export default function Home() {
             </div>
           ) : showtimes?.length ? (
             <ul className="showtimes-list">
-              {showtimes.map((showtime: Showtime, index: number) => (
+              {showtimes.map((showtime: ShowtimeSummary, index: number) => (
                 <li key={index}>
                   <button
                     type="button"
@@ -6,6 +6,7 @@ import {
   createPromotion,
   CreatePromotionPayload,
   sendPromotion,
+  getPromotionSendStatus,
   Promotion,
   getPromotions,
 } from "@/libs/cinemaApi";
@@ -232,13 +233,30 @@ export default function PromotionsPage() {
                     setBusy(true);
                     try {
                       const token = getToken();
-                      const result = await sendPromotion(selectedExistingId, {
+                      let result = await sendPromotion(selectedExistingId, {
                         token: token ?? undefined,
                       });
+                      // Sending runs in the background; poll until it finishes
+                      while (result.state === "RUNNING") {
+                        setSuccess(
+                          `Sending… ${result.sent} of ${result.total} subscribed user(s).`
+                        );
+                        await new Promise((r) => setTimeout(r, 2000));
+                        result = await getPromotionSendStatus(
+                          selectedExistingId,
+                          { token: token ?? undefined }
+                        );
+                      }
                       await loadPromotions();
-                      setSuccess(
-                        `Existing promotion sent to ${result.emailsSent} subscribed user(s).`
-                      );
+                      if (result.state === "FAILED") {
+                        setError(
+                          result.error ?? "Failed to send existing promotion to subscribers."
+                        );
+                      } else {
+                        setSuccess(
+                          `Existing promotion sent to ${result.sent} subscribed user(s).`
+                        );
+                      }
                     } catch (err: unknown) {
                       const msg =
                         err instanceof Error
@@ -331,18 +331,31 @@ export async function createPromotion(
   }
 }
 
+/** Progress of a promotion email campaign. */
+export interface PromotionSendStatus {
+  promotionId: string;
+  state: "RUNNING" | "COMPLETED" | "FAILED";
+  total: number;
+  sent: number;
+  failed: number;
+  startedAt: string;
+  finishedAt?: string;
+  error?: string;
+}
+
 /**
  * Send an existing promotion to subscribed users only.
+ * The backend sends in the background; poll getPromotionSendStatus for progress.
  */
 export async function sendPromotion(
   promotionId: string,
   opts?: { token?: string }
-): Promise<{ promotionId: string; emailsSent: number }> {
+): Promise<PromotionSendStatus> {
   try {
     const token =
       opts?.token ?? (typeof window !== "undefined" ? getToken() : null);
 
-    const res = await axios.post<{ promotionId: string; emailsSent: number }>(
+    const res = await axios.post<PromotionSendStatus>(
       `${promoApiBase}/${promotionId}/send`,
       {},
       {
@@ -361,6 +374,35 @@ export async function sendPromotion(
   }
 }
 
+/**
+ * Progress of the latest campaign for a promotion.
+ */
+export async function getPromotionSendStatus(
+  promotionId: string,
+  opts?: { token?: string }
+): Promise<PromotionSendStatus> {
+  try {
+    const token =
+      opts?.token ?? (typeof window !== "undefined" ? getToken() : null);
+
+    const res = await axios.get<PromotionSendStatus>(
+      `${promoApiBase}/${promotionId}/send/status`,
+      {
+        headers: token ? { Authorization: `Bearer ${token}` } : {},
+      }
+    );
+
+    return res.data;
+  } catch (err: unknown) {
+    const info = buildError(err);
+
+    type JsError = InstanceType<typeof globalThis.Error>;
+    const e: JsError & { status?: number } = new globalThis.Error(info.message);
+    e.status = info.status ?? undefined;
+    throw e;
+  }
+}
+
 // ------- Showrooms -------
 
 // legacy Showroom interface removed; using ShowroomModel instead
@@ -1,11 +1,12 @@
-import { Showroom, Showtime } from "@/models/shows";
+import { Showroom, ShowtimeSummary } from "@/models/shows";
 import Movie from "@/models/movie";
 import axios from "axios";
-import { toISOString, ensureDate, fromDateInputString } from "@/utils/dateTimeUtil";
+import { toISOString, ensureDate } from "@/utils/dateTimeUtil";
 
 const MOVIE_DURATION_MS = 3 * 60 * 60 * 1000; // 3 hours
 const SHOWROOMS_API = "http://localhost:8080/api/showrooms";
 const MOVIES_API = "http://localhost:8080/api/movies";
+const SHOWTIMES_API = "http://localhost:8080/api/showtimes";
 
 /**
  * Helper function to check if two movie showtimes overlap
@@ -39,25 +40,19 @@ export async function createShowroom(showroom: Showroom): Promise<Showroom> {
 
 /**
  * Retrieves all showtimes for a given movie across all showrooms.
+ * The backend filters by movie; seat data is not included.
  * @param movie - The movie object to search showtimes for
- * @returns An array of Showtime objects matching the provided movie
+ * @returns An array of showtimes for the provided movie, ordered by start
  */
-/**
- * Fetch showrooms from backend and return all showtimes for the given movie.
- */
-export async function getShowtimesForMovie(movie: Movie): Promise<Showtime[]> {
+export async function getShowtimesForMovie(
+  movie: Movie
+): Promise<ShowtimeSummary[]> {
+  if (!movie?.id) return [];
   try {
-    const res = await axios.get<Showroom[]>(SHOWROOMS_API);
-    const result: Showtime[] = [];
-    res.data.forEach((showroom) => {
-      showroom.showtimes?.forEach((st) => {
-        if (st.movieId === movie.id) {
-          // start is already a string (ISO-8601) from backend
-          result.push(st);
-        }
-      });
-    });
-    return result;
+    const res = await axios.get<ShowtimeSummary[]>(
+      `${MOVIES_API}/${movie.id}/showtimes`
+    );
+    return res.data;
   } catch (err) {
     console.error("Error fetching showtimes for movie:", err);
     return [];
@@ -83,13 +78,12 @@ export async function getShowtimesForMovie(movie: Movie): Promise<Showtime[]> {
  * Returns true if the movie has at least one showroom showtime on the server.
  */
 export async function isMovieShowing(movie: Movie): Promise<boolean> {
+  if (!movie?.id) return false;
   try {
-    const res = await axios.get<Showroom[]>(SHOWROOMS_API);
-    for (const showroom of res.data) {
-      if (showroom.showtimes?.some((st) => st.movieId === movie.id))
-        return true;
-    }
-    return false;
+    const res = await axios.get<ShowtimeSummary[]>(
+      `${MOVIES_API}/${movie.id}/showtimes`
+    );
+    return res.data.length > 0;
   } catch (err) {
     console.error("Error checking if movie is showing:", err);
     return false;
@@ -157,7 +151,8 @@ export async function scheduleMovie(
       return true;
     }
 
-    // No showroomId: pick a showroom by fetching list and choosing first without overlap
+    // No showroomId: pick a showroom by fetching list and choosing first without overlap.
+    // The list only carries showtimes from today on, which is all a new showing can overlap.
     const res = await axios.get<Showroom[]>(SHOWROOMS_API);
     for (const showroom of res.data) {
       // Check overlap with existing showtimes (start is ISO string)
@@ -205,66 +200,43 @@ export async function scheduleMovieWithShowroom(
 }
 
 /**
- * Fetches all showrooms and extracts unique movie IDs that are currently scheduled.
- * @returns An array of unique movie IDs from all showrooms' showtimes
+ * Unique IDs of movies that have showtimes scheduled (now showing or upcoming).
+ * @returns An array of unique movie IDs
  */
 export async function getMovieIdsFromShowrooms(): Promise<string[]> {
-  try {
-    const response = await axios.get<Showroom[]>(SHOWROOMS_API);
-    const movieIds = new Set<string>();
-
-    response.data.forEach((showroom) => {
-      showroom.showtimes?.forEach((showtime) => {
-        if (showtime.movieId) {
-          movieIds.add(showtime.movieId);
-        }
-      });
-    });
-
-    return Array.from(movieIds);
-  } catch (error) {
-    console.error("Error fetching showrooms:", error);
-    return [];
-  }
+  const { nowShowing, upcoming } = await getShowroomMovies();
+  return Array.from(new Set([...nowShowing, ...upcoming].map((m) => m.id)));
 }
 
 /**
  * Fetch movie IDs that have at least one showtime on the provided date.
+ * The backend filters by calendar day and returns slim showtimes without seats.
  * @param date - Date or date-string to check (only date component is used)
  */
 export async function getMovieIdsForDate(date: Date | string): Promise<string[]> {
   try {
-    // If caller passed a date string from an <input type="date">, parse it as local
-    // midnight so comparisons use the same local-day semantics as the UI.
-    let target: Date | null = null;
+    // A date string from an <input type="date"> is already the day we want; otherwise
+    // use the local date components so the day matches what the UI shows.
+    let day: string | null = null;
     if (typeof date === "string" && /^\d{4}-\d{2}-\d{2}$/.test(date)) {
-      target = fromDateInputString(date);
+      day = date;
     } else {
-      target = ensureDate(date);
+      const target = ensureDate(date);
+      if (target) {
+        const mm = String(target.getMonth() + 1).padStart(2, "0");
+        const dd = String(target.getDate()).padStart(2, "0");
+        day = `${target.getFullYear()}-${mm}-${dd}`;
+      }
     }
 
-    if (!target) return [];
-
-    const res = await axios.get<Showroom[]>(SHOWROOMS_API);
-    const ids = new Set<string>();
-
-    res.data.forEach((showroom) => {
-      showroom.showtimes?.forEach((st) => {
-        const stDate = ensureDate(st.start);
-        if (!stDate || !st.movieId) return;
+    if (!day) return [];
 
-        // Compare using local date components (year, month, day)
-        if (
-          stDate.getFullYear() === target!.getFullYear() &&
-          stDate.getMonth() === target!.getMonth() &&
-          stDate.getDate() === target!.getDate()
-        ) {
-          ids.add(st.movieId);
-        }
-      });
+    const res = await axios.get<ShowtimeSummary[]>(SHOWTIMES_API, {
+      params: { date: day },
     });
-
-    return Array.from(ids);
+    return Array.from(
+      new Set(res.data.map((st) => st.movieId).filter((id) => !!id))
+    );
   } catch (err) {
     console.error("Error fetching movie IDs for date:", err);
     return [];
@@ -272,8 +244,10 @@ export async function getMovieIdsForDate(date: Date | string): Promise<string[]>
 }
 
 /**
- * Fetches all movies scheduled in showrooms and categorizes them as "Now Showing" or "Upcoming"
- * based on their showtime dates (not the static isUpcoming flag).
+ * Fetches movies scheduled in showrooms and categorizes them as "Now Showing" or "Upcoming"
+ * based on their showtime dates (not the static isUpcoming flag). The server keeps both
+ * lists: a movie is now showing once one of its showtimes has started, and upcoming
+ * while it has showtimes that have not started yet.
  * @returns An object with arrays of now showing and upcoming movies
  */
 export async function getShowroomMovies(): Promise<{
@@ -281,28 +255,12 @@ export async function getShowroomMovies(): Promise<{
   upcoming: Movie[];
 }> {
   try {
-    // Get all showrooms with their showtimes
-    const showroomsResponse = await axios.get<Showroom[]>(SHOWROOMS_API);
-    const showrooms = showroomsResponse.data;
-
-    // Build a set of movie IDs that have at least one scheduled showtime
-    const scheduledMovieIds = new Set<string>();
-    showrooms.forEach((showroom) => {
-      showroom.showtimes?.forEach((showtime) => {
-        if (showtime.movieId) scheduledMovieIds.add(showtime.movieId);
-      });
-    });
-
-    // Fetch all movies from the backend
-    const allMoviesResponse = await axios.get<Movie[]>(MOVIES_API);
-    const allMovies = allMoviesResponse.data;
-
-    // Now: any movie that is scheduled in a showroom is "Now Showing".
-    // All other movies (no scheduled showtime in any showroom) are considered "Upcoming".
-    const nowShowing = allMovies.filter((m) => scheduledMovieIds.has(m.id));
-    const upcoming = allMovies.filter((m) => !scheduledMovieIds.has(m.id));
+    const [nowShowingResponse, upcomingResponse] = await Promise.all([
+      axios.get<Movie[]>(`${MOVIES_API}/now-showing`),
+      axios.get<Movie[]>(`${MOVIES_API}/upcoming`),
+    ]);
 
-    return { nowShowing, upcoming };
+    return { nowShowing: nowShowingResponse.data, upcoming: upcomingResponse.data };
   } catch (error) {
     console.error("Error fetching showroom movies:", error);
     return { nowShowing: [], upcoming: [] };
@@ -6,12 +6,18 @@
  */
 export interface Showroom {
   id: string;
-  showtimes: Showtime[];
+  rows?: number; // seat layout; sold seats as a bitmap via /api/showtimes/{id}/seatmap
+  seatsPerRow?: number;
+  showtimes: Showtime[]; // stored separately, attached by the showrooms endpoints
 }
 
 export interface Showtime {
+  id?: string;
   movieId: string;
   start: string; // ISO-8601 string from backend
   bookedSeats: string[];
   roomId: string;
 }
+
+/** Showtime as returned by the listing endpoints (no seat data). */
+export type ShowtimeSummary = Omit<Showtime, "bookedSeats">;
@@ -23,14 +23,20 @@ def create_showrooms():
         showrooms = [
             {
                 "_id": "showroom_1",
+                "rows": 5,
+                "seatsPerRow": 8,
                 "showtimes": []
             },
             {
                 "_id": "showroom_2",
+                "rows": 5,
+                "seatsPerRow": 8,
                 "showtimes": []
             },
             {
                 "_id": "showroom_3",
+                "rows": 5,
+                "seatsPerRow": 8,
                 "showtimes": []
             }
         ]